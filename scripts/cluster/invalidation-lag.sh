@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Deux instances sur la même base : modifie une transaction via la première et mesure
+# le délai avant que la seconde (cache chaud) renvoie la nouvelle valeur.
+# Prérequis : mvn package, base MySQL migrée, un compte ADMIN existant.
+# Usage : ADMIN_EMAIL=... ADMIN_PASSWORD=... TX_ID=1 scripts/cluster/invalidation-lag.sh
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+: "${ADMIN_EMAIL:?ADMIN_EMAIL requis}"
+: "${ADMIN_PASSWORD:?ADMIN_PASSWORD requis}"
+TX_ID=${TX_ID:-1}
+ROUNDS=${ROUNDS:-10}
+PORT_A=${PORT_A:-8081}
+PORT_B=${PORT_B:-8082}
+TIMEOUT=${TIMEOUT:-120}
+APP_JAR=$(ls target/fintrack-*.jar | grep -v plain | head -n 1)
+
+java -jar "$APP_JAR" --server.port="$PORT_A" > /tmp/fintrack-a.log 2>&1 &
+PID_A=$!
+java -jar "$APP_JAR" --server.port="$PORT_B" > /tmp/fintrack-b.log 2>&1 &
+PID_B=$!
+trap 'kill $PID_A $PID_B 2>/dev/null || true' EXIT
+
+wait_for_health() {
+    local port=$1 pid=$2 log=$3
+    local deadline=$((SECONDS + TIMEOUT))
+    until curl -s -o /dev/null "http://localhost:$port/actuator/health"; do
+        if ! kill -0 "$pid" 2>/dev/null || [ "$SECONDS" -ge "$deadline" ]; then
+            echo "Instance du port $port non démarrée (arrêtée ou délai de ${TIMEOUT} s dépassé)" >&2
+            tail -n 20 "$log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+}
+
+wait_for_health "$PORT_A" "$PID_A" /tmp/fintrack-a.log
+wait_for_health "$PORT_B" "$PID_B" /tmp/fintrack-b.log
+
+TOKEN=$(curl -s -H 'Content-Type: application/json' \
+    -d "{\"email\": \"$ADMIN_EMAIL\", \"password\": \"$ADMIN_PASSWORD\"}" \
+    "http://localhost:$PORT_A/api/auth/login" | grep -oP '"token"\s*:\s*"\K[^"]+')
+
+description() {
+    curl -s -H "Authorization: Bearer $TOKEN" "http://localhost:$1/api/transactions/$TX_ID" \
+        | grep -oP '"description"\s*:\s*"\K[^"]*'
+}
+
+for round in $(seq "$ROUNDS"); do
+    description "$PORT_B" > /dev/null
+    expected="Propagation $round $(date +%s%N)"
+    t0=$(date +%s%N)
+    curl -s -o /dev/null -X PUT -H "Authorization: Bearer $TOKEN" -H 'Content-Type: application/json' \
+        -d "{\"description\": \"$expected\"}" "http://localhost:$PORT_A/api/transactions/$TX_ID"
+    deadline=$((SECONDS + TIMEOUT))
+    until [ "$(description "$PORT_B")" = "$expected" ]; do
+        if [ "$SECONDS" -ge "$deadline" ]; then
+            echo "essai $round : valeur non propagée après ${TIMEOUT} s" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    t1=$(date +%s%N)
+    printf "essai %2d : %4d ms\n" "$round" $(( (t1 - t0) / 1000000 ))
+done
+
+curl -s -H "Authorization: Bearer $TOKEN" "http://localhost:$PORT_B/actuator/metrics/fintrack.invalidation.lag"
+echo
@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Construit le jar avec le traitement AOT puis produit une archive CDS par un
+# démarrage d'entraînement (le contexte s'arrête juste après le refresh).
+# La base configurée doit être joignable : Hibernate s'initialise pendant l'entraînement.
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+./mvnw -B -Pfast-startup -DskipTests package
+
+JAR=$(ls target/fintrack-*.jar | grep -v '\.original$' | head -n 1)
+rm -rf target/extracted
+java -Djarmode=tools -jar "$JAR" extract --destination target/extracted
+
+APP_JAR="target/extracted/$(basename "$JAR")"
+java -XX:ArchiveClassesAtExit=target/extracted/application.jsa \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -jar "$APP_JAR"
+
+echo "Archive CDS : target/extracted/application.jsa"
+echo "Lancement : java -XX:SharedArchiveFile=target/extracted/application.jsa -Dspring.aot.enabled=true -jar $APP_JAR"
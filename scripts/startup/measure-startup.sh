@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Compare le temps de démarrage et le délai avant la première requête servie
+# entre le jar standard, le jar AOT et le jar AOT + CDS.
+# Prérequis : scripts/startup/build-cds.sh exécuté, base configurée joignable.
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8081}
+TIMEOUT=${TIMEOUT:-120}
+APP_JAR=$(ls target/extracted/fintrack-*.jar | head -n 1)
+
+measure() {
+    local label=$1; shift
+    local total_started=0 total_first=0
+    for _ in $(seq "$RUNS"); do
+        local log; log=$(mktemp)
+        local t0; t0=$(date +%s%N)
+        java "$@" -jar "$APP_JAR" --server.port="$PORT" > "$log" 2>&1 &
+        local pid=$!
+        local deadline=$((SECONDS + TIMEOUT))
+        until curl -s -o /dev/null "http://localhost:$PORT/actuator/health"; do
+            if ! kill -0 "$pid" 2>/dev/null || [ "$SECONDS" -ge "$deadline" ]; then
+                echo "$label : application non démarrée (arrêtée ou délai de ${TIMEOUT} s dépassé)" >&2
+                kill "$pid" 2>/dev/null || true
+                tail -n 20 "$log" >&2
+                rm -f "$log"
+                exit 1
+            fi
+            sleep 0.02
+        done
+        local t1; t1=$(date +%s%N)
+        kill "$pid"; wait "$pid" 2>/dev/null || true
+        local started; started=$(grep -oP 'Started \S+ in \K[0-9.]+' "$log" || echo 0)
+        total_started=$(echo "$total_started + $started" | bc)
+        total_first=$(echo "$total_first + ($t1 - $t0) / 1000000000" | bc -l)
+        rm -f "$log"
+    done
+    printf "%-12s démarrage %.3f s   première requête %.3f s\n" "$label" \
+        "$(echo "$total_started / $RUNS" | bc -l)" "$(echo "$total_first / $RUNS" | bc -l)"
+}
+
+measure "standard"
+measure "aot" -Dspring.aot.enabled=true
+measure "aot+cds" -Dspring.aot.enabled=true -XX:SharedArchiveFile=target/extracted/application.jsa
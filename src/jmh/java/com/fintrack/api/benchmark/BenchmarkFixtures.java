@@ -0,0 +1,84 @@
+package com.fintrack.api.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.mapper.TransactionMapper;
+import com.fintrack.api.mapper.UserMapper;
+import com.fintrack.api.security.JwtUtil;
+
+/**
+ * Jeux de données partagés par les benchmarks.
+ */
+final class BenchmarkFixtures {
+    
+    static final String JWT_SECRET = "MySecretKeyForJWTTokenGenerationAndValidation2025FinTrackSolutions";
+    
+    private BenchmarkFixtures() {
+    }
+    
+    static User user(long id, Role role) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@fintrack.com")
+                .password("$2a$10$hash")
+                .firstName("Prénom" + id)
+                .lastName("Nom" + id)
+                .role(role)
+                .isActive(true)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 9, 0))
+                .build();
+    }
+    
+    static Transaction finalizedTransaction(long id) {
+        return Transaction.builder()
+                .id(id)
+                .amount(new BigDecimal("1250.75"))
+                .transactionType(TransactionType.DEBIT)
+                .category(Category.ACHAT)
+                .status(TransactionStatus.FINALISEE)
+                .description("Achat matériel informatique #" + id)
+                .transactionDate(LocalDate.of(2025, 1, 6))
+                .createdBy(user(3, Role.COMPTABLE))
+                .validatedBy(user(2, Role.MANAGER))
+                .finalizedBy(user(1, Role.ADMIN))
+                .createdAt(LocalDateTime.of(2025, 1, 6, 10, 15))
+                .updatedAt(LocalDateTime.of(2025, 1, 7, 16, 40))
+                .build();
+    }
+    
+    static TransactionMapper transactionMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        return new TransactionMapper(modelMapper, new UserMapper(modelMapper));
+    }
+    
+    static List<TransactionResponse> responses(int size) {
+        TransactionMapper mapper = transactionMapper();
+        List<TransactionResponse> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            responses.add(mapper.toResponse(finalizedTransaction(i + 1)));
+        }
+        return responses;
+    }
+    
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,72 @@
+package com.fintrack.api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintrack.api.config.BinaryEncodingConfig;
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.TransactionResponse;
+
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Encodage et décodage d'une page de transactions en JSON, CBOR et Smile (schéma compact).
+ * La taille de la charge utile est affichée au début de chaque essai.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryEncodingBenchmark {
+    
+    @Param({"JSON", "CBOR", "SMILE"})
+    public String format;
+    
+    @Param({"100", "1000"})
+    public int size;
+    
+    private ObjectMapper mapper;
+    private JavaType pageType;
+    private ApiResponse<List<TransactionResponse>> payload;
+    private byte[] encoded;
+    
+    @Setup
+    public void setup() {
+        mapper = switch (format) {
+            case "CBOR" -> BinaryEncodingConfig.cborMapper();
+            case "SMILE" -> BinaryEncodingConfig.smileMapper();
+            default -> JsonMapper.builder().build();
+        };
+        pageType = mapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                mapper.getTypeFactory().constructCollectionType(List.class, TransactionResponse.class));
+        payload = ApiResponse.success(BenchmarkFixtures.responses(size));
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n%s, %d transactions : %d octets%n", format, size, encoded.length);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return mapper.writeValueAsBytes(payload);
+    }
+    
+    @Benchmark
+    public ApiResponse<List<TransactionResponse>> decode() {
+        return mapper.readValue(encoded, pageType);
+    }
+}
@@ -0,0 +1,69 @@
+package com.fintrack.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fintrack.api.config.RateLimitProperties;
+import com.fintrack.api.security.JwtAuthFilter;
+import com.fintrack.api.security.JwtUtil;
+import com.fintrack.api.security.RateLimiter;
+import com.fintrack.api.security.TokenRevocationList;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Traversée complète de JwtAuthFilter pour une requête GET authentifiée.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+    
+    @Param({"true", "false"})
+    public boolean rateLimitEnabled;
+    
+    private JwtAuthFilter filter;
+    private String authorization;
+    
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil();
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(rateLimitEnabled);
+        // Quota assez large pour ne jamais refuser pendant la mesure
+        properties.getDefaultQuota().setReadPerMinute(Integer.MAX_VALUE);
+        filter = new JwtAuthFilter(jwtUtil, new TokenRevocationList(), new RateLimiter(properties), JsonMapper.builder().build());
+        authorization = "Bearer " + jwtUtil.generateToken("manager@fintrack.com", "MANAGER");
+    }
+    
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions/status/EN_ATTENTE");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fintrack.api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.dto.UserResponse;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.mapper.TransactionMapper;
+import com.fintrack.api.mapper.UserMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    
+    private TransactionMapper transactionMapper;
+    private UserMapper userMapper;
+    private Transaction transaction;
+    private User user;
+    
+    @Setup
+    public void setup() {
+        ModelMapper modelMapper = new ModelMapper();
+        userMapper = new UserMapper(modelMapper);
+        transactionMapper = new TransactionMapper(modelMapper, userMapper);
+        transaction = BenchmarkFixtures.finalizedTransaction(42);
+        user = BenchmarkFixtures.user(7, Role.MANAGER);
+    }
+    
+    @Benchmark
+    public TransactionResponse transactionToResponse() {
+        return transactionMapper.toResponse(transaction);
+    }
+    
+    @Benchmark
+    public UserResponse userToResponse() {
+        return userMapper.toResponse(user);
+    }
+}
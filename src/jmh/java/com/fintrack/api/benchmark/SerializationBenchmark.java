@@ -0,0 +1,51 @@
+package com.fintrack.api.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.TransactionResponse;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Sérialisation Jackson d'une réponse de liste, à plusieurs tailles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    public int size;
+    
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<TransactionResponse>> payload;
+    
+    @Setup
+    public void setup() {
+        objectMapper = JsonMapper.builder().build();
+        payload = ApiResponse.success(BenchmarkFixtures.responses(size));
+    }
+    
+    @Benchmark
+    public byte[] serializeTransactionList() {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+}
@@ -0,0 +1,104 @@
+package com.fintrack.api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fintrack.api.cache.LocalInvalidationBus;
+import com.fintrack.api.cache.TransactionCache;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.mapper.TransactionMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Charge dominée par des transactions FINALISEE : mapping d'une page de liste et
+ * lectures unitaires, avec et sans cache (sur le tas ou hors tas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionCacheBenchmark {
+    
+    @Param({"0.9"})
+    public double finalizedRatio;
+    
+    @Param({"false", "true"})
+    public boolean offHeap;
+    
+    @Param({"100"})
+    public int pageSize;
+    
+    private TransactionMapper transactionMapper;
+    private TransactionCache transactionCache;
+    private SimpleMeterRegistry registry;
+    private List<Transaction> page;
+    private int cursor;
+    
+    @Setup
+    public void setup() {
+        transactionMapper = BenchmarkFixtures.transactionMapper();
+        registry = new SimpleMeterRegistry();
+        transactionCache = new TransactionCache(JsonMapper.builder().build(), new LocalInvalidationBus(), registry, 100_000, offHeap, 5_000, 10_000);
+        
+        page = new ArrayList<>(pageSize);
+        int finalizedCount = (int) Math.round(pageSize * finalizedRatio);
+        for (int i = 0; i < pageSize; i++) {
+            Transaction transaction = BenchmarkFixtures.finalizedTransaction(i + 1);
+            if (i >= finalizedCount) {
+                transaction.setStatus(TransactionStatus.EN_ATTENTE);
+                transaction.setFinalizedBy(null);
+            }
+            page.add(transaction);
+        }
+    }
+    
+    @TearDown
+    public void report() {
+        double hits = registry.find("fintrack.cache.requests").tag("result", "hit").counters()
+                .stream().mapToDouble(c -> c.count()).sum();
+        double misses = registry.find("fintrack.cache.requests").tag("result", "miss").counters()
+                .stream().mapToDouble(c -> c.count()).sum();
+        System.out.printf("%nTaux de succès du cache : %.2f %%%n", 100 * hits / Math.max(1, hits + misses));
+    }
+    
+    @Benchmark
+    public void listWithoutCache(Blackhole blackhole) {
+        for (Transaction transaction : page) {
+            blackhole.consume(transactionMapper.toResponse(transaction));
+        }
+    }
+    
+    @Benchmark
+    public void listWithCache(Blackhole blackhole) {
+        for (Transaction transaction : page) {
+            blackhole.consume(transactionCache.map(transaction, transactionMapper::toResponse));
+        }
+    }
+    
+    @Benchmark
+    public TransactionResponse getByIdWithCache() {
+        Transaction transaction = page.get(cursor++ % pageSize);
+        return transactionCache.get(transaction.getId(), () -> transactionMapper.toResponse(transaction));
+    }
+}
@@ -0,0 +1,122 @@
+package com.fintrack.api.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fintrack.api.ExamFintrackApplication;
+import com.fintrack.api.dto.TransactionCreateRequest;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.repository.TransactionRepository;
+import com.fintrack.api.repository.UserRepository;
+import com.fintrack.api.service.TransactionService;
+
+/**
+ * Chemins de TransactionService contre une base H2 embarquée (profil "bench").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+    
+    private static final String COMPTABLE_EMAIL = "comptable@fintrack.com";
+    
+    @Param({"100", "1000"})
+    public int datasetSize;
+    
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private Long sampleId;
+    private TransactionCreateRequest createRequest;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(ExamFintrackApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("bench")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User comptable = BenchmarkFixtures.user(0, Role.COMPTABLE);
+        comptable.setId(null);
+        comptable.setEmail(COMPTABLE_EMAIL);
+        comptable = userRepository.save(comptable);
+        
+        TransactionStatus[] statuses = TransactionStatus.values();
+        List<Transaction> transactions = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            transactions.add(Transaction.builder()
+                    .amount(BigDecimal.valueOf(100 + i))
+                    .transactionType(i % 2 == 0 ? TransactionType.DEBIT : TransactionType.CREDIT)
+                    .category(Category.values()[i % Category.values().length])
+                    .status(statuses[i % statuses.length])
+                    .description("Transaction de benchmark " + i)
+                    .transactionDate(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .createdBy(comptable)
+                    .build());
+        }
+        sampleId = context.getBean(TransactionRepository.class).saveAll(transactions).get(0).getId();
+        
+        createRequest = TransactionCreateRequest.builder()
+                .amount(new BigDecimal("99.90"))
+                .transactionType(TransactionType.DEBIT)
+                .category(Category.ACHAT)
+                .description("Fournitures")
+                .transactionDate(LocalDate.of(2025, 1, 8))
+                .build();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public TransactionResponse getTransactionById() {
+        return transactionService.getTransactionById(sampleId);
+    }
+    
+    @Benchmark
+    public List<TransactionResponse> getPendingTransactions() {
+        return transactionService.getTransactionsByStatus(TransactionStatus.EN_ATTENTE);
+    }
+    
+    @Benchmark
+    public List<TransactionResponse> getMyTransactions() {
+        return transactionService.getMyTransactions(COMPTABLE_EMAIL);
+    }
+    
+    @Benchmark
+    public TransactionResponse createTransaction() {
+        return transactionService.createTransaction(createRequest, COMPTABLE_EMAIL);
+    }
+}
@@ -0,0 +1,232 @@
+package com.fintrack.api.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.loadtest.LoadTestConfig.Endpoint;
+
+/**
+ * Clients HTTP concurrents : chaque client tire un endpoint selon le mélange configuré
+ * et enregistre la latence dans un histogramme HDR par endpoint.
+ */
+class LoadDriver {
+    
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern FIRST_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final List<String> comptableEmails;
+    private final List<String> managerEmails;
+    private final long maxTransactionId;
+    private final Endpoint[] weightedEndpoints;
+    
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final List<String[]> clientTokens = new ArrayList<>();
+    
+    LoadDriver(LoadTestConfig config, String baseUrl, SyntheticDataGenerator generator) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        this.comptableEmails = generator.emails(Role.COMPTABLE);
+        this.managerEmails = generator.emails(Role.MANAGER);
+        this.maxTransactionId = generator.maxTransactionId();
+        
+        List<Endpoint> weighted = new ArrayList<>();
+        config.mix().forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(endpoint);
+            }
+        });
+        this.weightedEndpoints = weighted.toArray(new Endpoint[0]);
+        reset();
+    }
+    
+    // Chaque client garde un jeton COMPTABLE et un jeton MANAGER
+    void login() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < config.clients(); i++) {
+            String comptable = login(comptableEmails.get(random.nextInt(comptableEmails.size())));
+            String manager = login(managerEmails.get(random.nextInt(managerEmails.size())));
+            clientTokens.add(new String[] {comptable, manager});
+        }
+    }
+    
+    void reset() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+    
+    void run(int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(config.clients());
+        for (int i = 0; i < config.clients(); i++) {
+            String[] tokens = clientTokens.get(i);
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)], tokens);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+    }
+    
+    private void execute(Endpoint endpoint, String[] tokens) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String comptableToken = tokens[0];
+        String managerToken = tokens[1];
+        
+        switch (endpoint) {
+            case LOGIN -> send(endpoint, post("/api/auth/login", null, loginBody(
+                    comptableEmails.get(random.nextInt(comptableEmails.size())))));
+            case LIST_MINE -> send(endpoint, get("/api/transactions/my-transactions", comptableToken));
+            case GET_BY_ID -> send(endpoint, get("/api/transactions/" + (1 + random.nextLong(maxTransactionId)), comptableToken));
+            case CREATE -> send(endpoint, post("/api/transactions", comptableToken, """
+                    {"amount": %d.%02d, "transactionType": "DEBIT", "category": "ACHAT",
+                     "description": "Achat banc de charge", "transactionDate": "%s"}"""
+                    .formatted(10 + random.nextInt(5000), random.nextInt(100), LocalDate.now().minusDays(random.nextInt(30)))));
+            case CLAIM -> {
+                String body = send(endpoint, post("/api/transactions/queue/claim?limit=1", managerToken, ""));
+                Matcher id = body != null ? FIRST_ID.matcher(body) : null;
+                if (id != null && id.find()) {
+                    send(Endpoint.VALIDATE, patch("/api/transactions/" + id.group(1) + "/validate", managerToken));
+                }
+            }
+            case VALIDATE -> {
+                // Toujours déclenché après un CLAIM
+            }
+        }
+    }
+    
+    private String send(Endpoint endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies.get(endpoint).recordValue(Math.min(MAX_LATENCY_MICROS, (System.nanoTime() - start) / 1000));
+            if (response.statusCode() >= 400) {
+                errors.get(endpoint).increment();
+                return null;
+            }
+            return response.body();
+        } catch (IOException e) {
+            errors.get(endpoint).increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+    
+    private String login(String email) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(post("/api/auth/login", null, loginBody(email)),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher token = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !token.find()) {
+            throw new IllegalStateException("Connexion impossible pour " + email + " : " + response.statusCode());
+        }
+        return token.group(1);
+    }
+    
+    private static String loginBody(String email) {
+        return "{\"email\": \"" + email + "\", \"password\": \"" + SyntheticDataGenerator.PASSWORD + "\"}";
+    }
+    
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+    
+    private HttpRequest post(String path, String token, String json) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.ofString(json)).build();
+    }
+    
+    private HttpRequest patch(String path, String token) {
+        return request(path, token).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+    
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+    
+    void report(int seconds, String jsonFile) throws IOException {
+        PrintStream out = System.out;
+        out.printf("%n%-10s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requêtes", "erreurs", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        
+        StringBuilder json = new StringBuilder("{\"durationSeconds\": ").append(seconds)
+                .append(", \"clients\": ").append(config.clients()).append(", \"endpoints\": {");
+        boolean first = true;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            double throughput = (double) count / seconds;
+            out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, count, errors.get(endpoint).sum(), throughput,
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+            
+            json.append(first ? "" : ", ").append('"').append(endpoint).append("\": {")
+                    .append("\"count\": ").append(count)
+                    .append(", \"errors\": ").append(errors.get(endpoint).sum())
+                    .append(", \"throughput\": ").append(throughput)
+                    .append(", \"p50Ms\": ").append(millis(histogram, 50))
+                    .append(", \"p90Ms\": ").append(millis(histogram, 90))
+                    .append(", \"p99Ms\": ").append(millis(histogram, 99))
+                    .append(", \"p999Ms\": ").append(millis(histogram, 99.9))
+                    .append(", \"maxMs\": ").append(histogram.getMaxValue() / 1000.0)
+                    .append('}');
+            first = false;
+        }
+        json.append("}}");
+        
+        Path path = Path.of(jsonFile);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, json);
+        out.println("Rapport JSON : " + path.toAbsolutePath());
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
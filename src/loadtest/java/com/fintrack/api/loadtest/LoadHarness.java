@@ -0,0 +1,46 @@
+package com.fintrack.api.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fintrack.api.ExamFintrackApplication;
+
+/**
+ * Banc de charge de bout en bout : démarre l'application sur H2 (mode MySQL),
+ * génère un jeu de données synthétique puis joue un mélange de requêtes concurrentes.
+ *
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.transactions=1000000 -Dloadtest.clients=64
+ */
+public final class LoadHarness {
+    
+    private LoadHarness() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ExamFintrackApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(context.getBean(JdbcTemplate.class));
+            generator.generate(config);
+            
+            LoadDriver driver = new LoadDriver(config, "http://localhost:" + port, generator);
+            driver.login();
+            
+            System.out.printf("Préchauffage pendant %d s...%n", config.warmupSeconds());
+            driver.run(config.warmupSeconds());
+            driver.reset();
+            
+            System.out.printf("Mesure pendant %d s avec %d clients...%n", config.durationSeconds(), config.clients());
+            driver.run(config.durationSeconds());
+            driver.report(config.durationSeconds(), "target/loadtest-report.json");
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fintrack.api.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Paramètres du banc, lus depuis les propriétés système -Dloadtest.*.
+ */
+record LoadTestConfig(
+        int users,
+        int transactions,
+        int auditLogs,
+        int clients,
+        int warmupSeconds,
+        int durationSeconds,
+        Map<Endpoint, Integer> mix) {
+    
+    enum Endpoint { LOGIN, LIST_MINE, GET_BY_ID, CREATE, CLAIM, VALIDATE }
+    
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 200),
+                Integer.getInteger("loadtest.transactions", 1_000_000),
+                Integer.getInteger("loadtest.audit-logs", 2_000_000),
+                Integer.getInteger("loadtest.clients", 32),
+                Integer.getInteger("loadtest.warmup-seconds", 15),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                parseMix(System.getProperty("loadtest.mix", "login=5,list_mine=25,get_by_id=30,create=20,claim=20")));
+    }
+    
+    // Format : "login=5,list_mine=25,..." ; VALIDATE suit toujours un CLAIM réussi
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            mix.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
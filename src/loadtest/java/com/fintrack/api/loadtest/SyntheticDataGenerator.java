@@ -0,0 +1,244 @@
+package com.fintrack.api.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+
+/**
+ * Charge en masse users / transactions / audit_logs par lots JDBC, avec des
+ * distributions proches du jeu de test du script bdd.
+ */
+class SyntheticDataGenerator {
+    
+    static final String PASSWORD = "password123";
+    
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] DESCRIPTIONS = {
+        "Salaire mensuel", "Achat matériel informatique", "Vente produits clients", "Fournitures bureau",
+        "Prestation service consulting", "Licences logiciels", "Contrat annuel client", "Maintenance serveurs",
+        "Frais de déplacement", "Abonnement cloud"
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final SplittableRandom random = new SplittableRandom(42);
+    
+    private final List<Long> comptableIds = new ArrayList<>();
+    private final List<Long> managerIds = new ArrayList<>();
+    private final List<Long> adminIds = new ArrayList<>();
+    
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    List<String> emails(Role role) {
+        List<Long> ids = switch (role) {
+            case ADMIN -> adminIds;
+            case MANAGER -> managerIds;
+            case COMPTABLE -> comptableIds;
+        };
+        return ids.stream().map(id -> email(role, id)).toList();
+    }
+    
+    long maxTransactionId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM transactions", Long.class);
+        return max != null ? max : 0;
+    }
+    
+    void generate(LoadTestConfig config) {
+        long start = System.nanoTime();
+        insertUsers(config.users());
+        insertTransactions(config.transactions());
+        insertAuditLogs(config.auditLogs(), config.transactions());
+        System.out.printf("Jeu de données généré en %.1f s : %d users, %d transactions, %d audit_logs%n",
+                (System.nanoTime() - start) / 1e9, config.users(), config.transactions(), config.auditLogs());
+    }
+    
+    private void insertUsers(int count) {
+        if (count < 3) {
+            throw new IllegalStateException("Au moins trois utilisateurs sont nécessaires");
+        }
+        // Un seul hachage BCrypt partagé : hacher des millions de mots de passe prendrait des heures
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = "INSERT INTO users (email, password, first_name, last_name, role, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        // Base neuve : les identifiants générés suivent l'ordre d'insertion à partir de 1
+        for (int offset = 0; offset < count; offset += BATCH_SIZE) {
+            int batch = Math.min(BATCH_SIZE, count - offset);
+            long firstId = offset + 1L;
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    long id = firstId + i;
+                    // Répartition : 5 % ADMIN, 15 % MANAGER, 80 % COMPTABLE (au moins un de chaque)
+                    Role role = id == 1 ? Role.ADMIN : id == 2 ? Role.MANAGER : id == 3 ? Role.COMPTABLE : pickRole();
+                    switch (role) {
+                        case ADMIN -> adminIds.add(id);
+                        case MANAGER -> managerIds.add(id);
+                        case COMPTABLE -> comptableIds.add(id);
+                    }
+                    ps.setString(1, email(role, id));
+                    ps.setString(2, hash);
+                    ps.setString(3, "Prénom" + id);
+                    ps.setString(4, "Nom" + id);
+                    ps.setString(5, role.name());
+                    ps.setBoolean(6, true);
+                    ps.setTimestamp(7, now);
+                    ps.setTimestamp(8, now);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return batch;
+                }
+            });
+        }
+        
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        if (maxId == null || maxId != count) {
+            throw new IllegalStateException("Le banc de charge attend une base users vide au démarrage");
+        }
+    }
+    
+    private void insertTransactions(int count) {
+        LocalDate today = LocalDate.now();
+        String sql = "INSERT INTO transactions (amount, transaction_type, category, status, description, "
+                + "transaction_date, created_by, validated_by, finalized_by, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        for (int offset = 0; offset < count; offset += BATCH_SIZE) {
+            int batch = Math.min(BATCH_SIZE, count - offset);
+            long firstId = offset + 1L;
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    // Historique sur trois ans ; les transactions récentes sont plus souvent en cours
+                    int ageDays = (int) Math.min(3 * 365, -Math.log(1 - random.nextDouble()) * 240);
+                    LocalDate date = today.minusDays(ageDays);
+                    TransactionStatus status = pickStatus(ageDays);
+                    Category category = pick(Category.values(), 30, 40, 20, 10);
+                    TransactionType type = category == Category.SALAIRE || category == Category.VENTE
+                            ? TransactionType.CREDIT : category == Category.ACHAT ? TransactionType.DEBIT
+                            : random.nextBoolean() ? TransactionType.CREDIT : TransactionType.DEBIT;
+                    Timestamp createdAt = Timestamp.valueOf(date.atTime(9 + random.nextInt(9), random.nextInt(60)));
+                    
+                    ps.setBigDecimal(1, amount(category));
+                    ps.setString(2, type.name());
+                    ps.setString(3, category.name());
+                    ps.setString(4, status.name());
+                    ps.setString(5, DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)] + " " + (firstId + i));
+                    ps.setDate(6, Date.valueOf(date));
+                    ps.setLong(7, comptableIds.get(random.nextInt(comptableIds.size())));
+                    setNullableUser(ps, 8, status == TransactionStatus.EN_ATTENTE ? null : managerIds);
+                    setNullableUser(ps, 9, status == TransactionStatus.FINALISEE ? adminIds : null);
+                    ps.setTimestamp(10, createdAt);
+                    ps.setTimestamp(11, createdAt);
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return batch;
+                }
+            });
+        }
+    }
+    
+    private void insertAuditLogs(int count, int transactions) {
+        String[] actions = {"CREATE_TRANSACTION", "VALIDATE_TRANSACTION", "FINALIZE_TRANSACTION", "UPDATE_TRANSACTION"};
+        String sql = "INSERT INTO audit_logs (user_id, action, entity_type, entity_id, details, created_at) "
+                + "VALUES (?, ?, 'Transaction', ?, ?, ?)";
+        LocalDateTime now = LocalDateTime.now();
+        
+        for (int offset = 0; offset < count; offset += BATCH_SIZE) {
+            int batch = Math.min(BATCH_SIZE, count - offset);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    String action = actions[random.nextInt(actions.length)];
+                    long entityId = 1 + random.nextInt(Math.max(1, transactions));
+                    ps.setLong(1, comptableIds.get(random.nextInt(comptableIds.size())));
+                    ps.setString(2, action);
+                    ps.setLong(3, entityId);
+                    ps.setString(4, action + " #" + entityId);
+                    ps.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(random.nextInt(3 * 365 * 24 * 60))));
+                }
+                
+                @Override
+                public int getBatchSize() {
+                    return batch;
+                }
+            });
+        }
+    }
+    
+    private void setNullableUser(PreparedStatement ps, int index, List<Long> candidates) throws SQLException {
+        if (candidates == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, candidates.get(random.nextInt(candidates.size())));
+        }
+    }
+    
+    private Role pickRole() {
+        int roll = random.nextInt(100);
+        return roll < 5 ? Role.ADMIN : roll < 20 ? Role.MANAGER : Role.COMPTABLE;
+    }
+    
+    private TransactionStatus pickStatus(int ageDays) {
+        if (ageDays < 30) {
+            return pick(TransactionStatus.values(), 45, 25, 20, 10);
+        }
+        return pick(TransactionStatus.values(), 1, 4, 87, 8);
+    }
+    
+    // Montants log-normaux, centrés selon la catégorie
+    private BigDecimal amount(Category category) {
+        double median = switch (category) {
+            case SALAIRE -> 3500;
+            case ACHAT -> 450;
+            case VENTE -> 2200;
+            case AUTRE -> 300;
+        };
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        double value = Math.max(0.01, median * Math.exp(0.8 * gaussian));
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private <T> T pick(T[] values, int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+    
+    private static String email(Role role, long id) {
+        return role.name().toLowerCase() + id + "@fintrack.com";
+    }
+}
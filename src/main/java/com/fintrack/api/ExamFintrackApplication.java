@@ -2,8 +2,14 @@ package com.fintrack.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.fintrack.api.config.FintrackRuntimeHints;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(FintrackRuntimeHints.class)
 public class ExamFintrackApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,16 @@
+package com.fintrack.api.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Diffusion des invalidations de cache aux autres instances de l'application.
+ * Une clé null désigne toute la région.
+ */
+public interface InvalidationBus {
+    
+    // À appeler une fois l'écriture commitée : les autres instances rechargeront la valeur
+    void publish(String region, Long key);
+    
+    // Le listener reçoit uniquement les invalidations émises par les autres instances
+    void subscribe(String region, Consumer<Long> listener);
+}
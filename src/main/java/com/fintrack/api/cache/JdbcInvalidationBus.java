@@ -0,0 +1,239 @@
+package com.fintrack.api.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bus d'invalidation par la base, sans infrastructure supplémentaire :
+ * - les clés publiées sont regroupées en mémoire puis insérées par lot dans
+ *   cache_invalidations toutes les flush-ms (une rafale sur la même clé donne une ligne) ;
+ * - chaque instance relit toutes les poll-ms les lignes des autres instances plus récentes
+ *   que la fenêtre de relecture, sur l'horloge de la base. Relire la fenêtre plutôt que
+ *   suivre le dernier id évite de manquer une ligne commitée après un id plus grand.
+ *
+ * flush et poll tournent sur leurs propres threads, pas sur le planificateur partagé des
+ * @Scheduled : un traitement long (archivage, purge, export) ne retarde ni les
+ * invalidations de cache ni les révocations de jetons. Délai de propagation au pire
+ * flush-ms + poll-ms + durée de l'INSERT, du SELECT et des abonnés ; une base
+ * indisponible plus longtemps que window-ms fait perdre les lignes sorties de la fenêtre.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "fintrack.invalidation.bus", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcInvalidationBus implements InvalidationBus {
+    
+    private static final String INSERT =
+            "INSERT INTO cache_invalidations (region, entity_key, origin) VALUES (?, ?, ?)";
+    private static final String POLL =
+            "SELECT id, region, entity_key, TIMESTAMPDIFF(MICROSECOND, created_at, NOW(6)) AS lag_us " +
+            "FROM cache_invalidations WHERE created_at >= NOW(6) - INTERVAL ? MICROSECOND " +
+            "AND origin <> ? ORDER BY id";
+    private static final String PURGE =
+            "DELETE FROM cache_invalidations WHERE created_at < NOW(6) - INTERVAL ? SECOND";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final String origin = UUID.randomUUID().toString();
+    private final long windowMicros;
+    private final int maxKeysPerRegion;
+    private final long retentionSeconds;
+    private final long flushMs;
+    private final long pollMs;
+    private final ScheduledExecutorService executor;
+    
+    private final Set<Key> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<Consumer<Long>>> listeners = new ConcurrentHashMap<>();
+    // Lignes déjà appliquées, conservées le temps de la fenêtre de relecture
+    private final Map<Long, Long> seen = new HashMap<>();
+    
+    private final Timer lag;
+    private final Counter published;
+    private final Counter coalesced;
+    private final Counter received;
+    
+    public JdbcInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry registry,
+            @Value("${fintrack.invalidation.window-ms:5000}") long windowMs,
+            @Value("${fintrack.invalidation.max-keys-per-region:1000}") int maxKeysPerRegion,
+            @Value("${fintrack.invalidation.retention-seconds:3600}") long retentionSeconds,
+            @Value("${fintrack.invalidation.flush-ms:200}") long flushMs,
+            @Value("${fintrack.invalidation.poll-ms:500}") long pollMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowMicros = windowMs * 1000;
+        this.maxKeysPerRegion = maxKeysPerRegion;
+        this.retentionSeconds = retentionSeconds;
+        this.flushMs = flushMs;
+        this.pollMs = pollMs;
+        // Un thread chacun : un INSERT lent ne retarde pas la lecture
+        this.executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-bus");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        lag = Timer.builder("fintrack.invalidation.lag")
+                .description("Délai entre l'écriture d'une invalidation et son application par une autre instance")
+                .publishPercentileHistogram()
+                .register(registry);
+        published = Counter.builder("fintrack.invalidation.published")
+                .description("Invalidations écrites dans le journal")
+                .register(registry);
+        coalesced = Counter.builder("fintrack.invalidation.coalesced")
+                .description("Invalidations fusionnées avant écriture")
+                .register(registry);
+        received = Counter.builder("fintrack.invalidation.received")
+                .description("Invalidations reçues des autres instances")
+                .register(registry);
+        Gauge.builder("fintrack.invalidation.pending", pending, Set::size)
+                .register(registry);
+    }
+    
+    @Override
+    public void publish(String region, Long key) {
+        if (!pending.add(new Key(region, key))) {
+            coalesced.increment();
+        }
+    }
+    
+    @Override
+    public void subscribe(String region, Consumer<Long> listener) {
+        listeners.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+    
+    @PostConstruct
+    public void start() {
+        executor.scheduleWithFixedDelay(() -> safely(this::flush), flushMs, flushMs, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(() -> safely(this::poll), pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+    
+    // Les invalidations encore en mémoire sont écrites avant l'arrêt
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        flush();
+    }
+    
+    // Une exception non rattrapée annulerait les exécutions suivantes
+    private void safely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Bus d'invalidation : {}", e.getMessage(), e);
+        }
+    }
+    
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        List<Key> batch = new ArrayList<>(pending);
+        pending.removeAll(batch);
+        List<Key> rows = coalesce(batch);
+        try {
+            jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (statement, key) -> {
+                statement.setString(1, key.region());
+                statement.setObject(2, key.key());
+                statement.setString(3, origin);
+            });
+            published.increment(rows.size());
+        } catch (RuntimeException e) {
+            // Nouvel essai au prochain cycle
+            pending.addAll(rows);
+            log.warn("Écriture des invalidations de cache impossible : {}", e.getMessage());
+        }
+    }
+    
+    // Au-delà du seuil, une région entière est invalidée plutôt que clé par clé
+    private List<Key> coalesce(List<Key> batch) {
+        Map<String, List<Key>> byRegion = new HashMap<>();
+        for (Key key : batch) {
+            byRegion.computeIfAbsent(key.region(), r -> new ArrayList<>()).add(key);
+        }
+        
+        List<Key> rows = new ArrayList<>(batch.size());
+        for (Map.Entry<String, List<Key>> entry : byRegion.entrySet()) {
+            List<Key> keys = entry.getValue();
+            boolean wholeRegion = keys.size() > maxKeysPerRegion || keys.stream().anyMatch(key -> key.key() == null);
+            if (wholeRegion) {
+                coalesced.increment(keys.size() - 1);
+                rows.add(new Key(entry.getKey(), null));
+            } else {
+                rows.addAll(keys);
+            }
+        }
+        return rows;
+    }
+    
+    public void poll() {
+        Set<Key> keys = new HashSet<>();
+        try {
+            jdbcTemplate.query(POLL, resultSet -> {
+                long id = resultSet.getLong("id");
+                if (seen.putIfAbsent(id, System.nanoTime()) == null) {
+                    keys.add(new Key(resultSet.getString("region"), resultSet.getObject("entity_key", Long.class)));
+                    lag.record(resultSet.getLong("lag_us"), TimeUnit.MICROSECONDS);
+                    received.increment();
+                }
+            }, windowMicros, origin);
+        } catch (RuntimeException e) {
+            log.warn("Lecture des invalidations de cache impossible : {}", e.getMessage());
+            return;
+        }
+        
+        for (Key key : keys) {
+            for (Consumer<Long> listener : listeners.getOrDefault(key.region(), List.of())) {
+                listener.accept(key.key());
+            }
+        }
+        forgetOutsideWindow();
+    }
+    
+    // Une ligne sortie de la fenêtre ne sera plus relue
+    private void forgetOutsideWindow() {
+        long horizon = System.nanoTime() - 2 * windowMicros * 1000;
+        Iterator<Long> iterator = seen.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() - horizon < 0) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${fintrack.invalidation.cleanup-ms:600000}")
+    public void purge() {
+        int deleted = jdbcTemplate.update(PURGE, retentionSeconds);
+        if (deleted > 0) {
+            log.debug("{} invalidation(s) de cache purgée(s)", deleted);
+        }
+    }
+    
+    private record Key(String region, Long key) {
+    }
+}
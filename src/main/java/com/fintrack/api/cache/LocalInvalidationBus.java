@@ -0,0 +1,20 @@
+package com.fintrack.api.cache;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// Déploiement à une seule instance : rien à diffuser
+@Component
+@ConditionalOnProperty(name = "fintrack.invalidation.bus", havingValue = "local")
+public class LocalInvalidationBus implements InvalidationBus {
+    
+    @Override
+    public void publish(String region, Long key) {
+    }
+    
+    @Override
+    public void subscribe(String region, Consumer<Long> listener) {
+    }
+}
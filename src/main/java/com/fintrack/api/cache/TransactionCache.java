@@ -0,0 +1,419 @@
+package com.fintrack.api.cache;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.dto.UserResponse;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.event.TransactionChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Cache en lecture des réponses transaction, en deux niveaux :
+ * - FINALISEE : représentation immuable (seule une suppression l'invalide), conservée
+ *   sans expiration dans un LRU borné, éventuellement hors tas (JSON en mémoire directe) ;
+ * - autres statuts : durée de vie courte, invalidés à chaque écriture de TransactionService.
+ *
+ * Chaque invalidation est datée par transaction et par utilisateur : une lecture commencée
+ * avant l'invalidation d'une de ses clés ne réinsère pas de valeur périmée, sans gêner les
+ * lectures des autres clés. Un index utilisateur → transactions FINALISEE évite de parcourir
+ * le LRU quand un utilisateur change. Les réponses étant mutables, le cache garde sa propre
+ * copie et ne rend que des copies. Les invalidations sont diffusées aux autres instances
+ * par l'InvalidationBus.
+ */
+@Component
+public class TransactionCache {
+    
+    private static final String TRANSACTION_REGION = "transaction";
+    private static final String USER_REGION = "user";
+    // Une lecture plus longue n'est pas mise en cache : les dates d'invalidation plus
+    // anciennes peuvent alors être oubliées
+    private static final long STAMP_RETENTION_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int STAMP_PRUNE_INTERVAL = 1024;
+    
+    private final ObjectMapper objectMapper;
+    private final InvalidationBus invalidationBus;
+    private final boolean offHeap;
+    private final long mutableTtlNanos;
+    private final int mutableMaxEntries;
+    
+    // LRU et index des utilisateurs référencés, tous deux protégés par le verrou de finalized
+    private final LinkedHashMap<Long, FinalizedEntry> finalized;
+    private final Map<Long, Set<Long>> finalizedByUser = new HashMap<>();
+    private final ConcurrentHashMap<Long, MutableEntry> mutable = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong clearedAt = new AtomicLong();
+    private final ConcurrentHashMap<Long, Stamp> transactionStamps = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Stamp> userStamps = new ConcurrentHashMap<>();
+    private final AtomicLong offHeapBytes = new AtomicLong();
+    
+    private final Counter finalizedHits;
+    private final Counter mutableHits;
+    private final Counter misses;
+    
+    public TransactionCache(
+            ObjectMapper objectMapper,
+            InvalidationBus invalidationBus,
+            MeterRegistry registry,
+            @Value("${fintrack.cache.finalized-max-entries:100000}") int finalizedMaxEntries,
+            @Value("${fintrack.cache.off-heap:false}") boolean offHeap,
+            @Value("${fintrack.cache.mutable-ttl-ms:5000}") long mutableTtlMs,
+            @Value("${fintrack.cache.mutable-max-entries:10000}") int mutableMaxEntries) {
+        this.objectMapper = objectMapper;
+        this.invalidationBus = invalidationBus;
+        this.offHeap = offHeap;
+        this.mutableTtlNanos = mutableTtlMs * 1_000_000;
+        this.mutableMaxEntries = mutableMaxEntries;
+        this.finalized = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, FinalizedEntry> eldest) {
+                if (size() > finalizedMaxEntries) {
+                    released(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        
+        finalizedHits = requests(registry, "finalized", "hit");
+        mutableHits = requests(registry, "mutable", "hit");
+        misses = requests(registry, "none", "miss");
+        Gauge.builder("fintrack.cache.size", this, TransactionCache::finalizedSize)
+                .tag("cache", "transactions").tag("tier", "finalized")
+                .register(registry);
+        Gauge.builder("fintrack.cache.size", mutable, Map::size)
+                .tag("cache", "transactions").tag("tier", "mutable")
+                .register(registry);
+        Gauge.builder("fintrack.cache.offheap.bytes", offHeapBytes, AtomicLong::get)
+                .tag("cache", "transactions")
+                .register(registry);
+        
+        invalidationBus.subscribe(TRANSACTION_REGION, id -> {
+            if (id == null) {
+                clear();
+            } else {
+                evict(id);
+            }
+        });
+        invalidationBus.subscribe(USER_REGION, userId -> {
+            if (userId == null) {
+                clear();
+            } else {
+                evictUserEntries(userId);
+            }
+        });
+    }
+    
+    // Lecture unitaire : le chargeur n'est appelé qu'en cas d'absence
+    public TransactionResponse get(Long id, Supplier<TransactionResponse> loader) {
+        TransactionResponse cached = lookup(id);
+        if (cached != null) {
+            return cached;
+        }
+        
+        misses.increment();
+        Load load = new Load(sequence.get(), System.nanoTime());
+        TransactionResponse response = loader.get();
+        store(response, load);
+        return response;
+    }
+    
+    // Listes : l'entité est déjà chargée, seules les FINALISEE évitent le mapping
+    public TransactionResponse map(Transaction transaction, Function<Transaction, TransactionResponse> mapper) {
+        if (transaction.getStatus() != TransactionStatus.FINALISEE) {
+            return mapper.apply(transaction);
+        }
+        
+        TransactionResponse cached = lookupFinalized(transaction.getId());
+        if (cached != null) {
+            return cached;
+        }
+        
+        misses.increment();
+        Load load = new Load(sequence.get(), System.nanoTime());
+        TransactionResponse response = mapper.apply(transaction);
+        store(response, load);
+        return response;
+    }
+    
+    // La date d'invalidation est posée avant la suppression : un store concurrent la voit
+    // sous le verrou de finalized, ou la revérifie après son insertion dans mutable
+    public void evict(Long id) {
+        invalidated(transactionStamps, id);
+        mutable.remove(id);
+        synchronized (finalized) {
+            removeFinalized(id);
+        }
+    }
+    
+    // Les réponses embarquent les utilisateurs liés : toute modification d'un utilisateur les invalide.
+    // Appelée dans une transaction, l'invalidation est répétée (et diffusée) après le commit.
+    public void evictUser(Long userId) {
+        evictUserEntries(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictUserEntries(userId);
+                    invalidationBus.publish(USER_REGION, userId);
+                }
+            });
+        } else {
+            invalidationBus.publish(USER_REGION, userId);
+        }
+    }
+    
+    private void clear() {
+        clearedAt.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+        mutable.clear();
+        synchronized (finalized) {
+            finalized.values().forEach(this::released);
+            finalized.clear();
+            finalizedByUser.clear();
+        }
+    }
+    
+    // Seules les transactions indexées pour l'utilisateur sont retirées du LRU ;
+    // mutable, borné et à durée de vie courte, est parcouru sans verrou global
+    private void evictUserEntries(Long userId) {
+        invalidated(userStamps, userId);
+        mutable.values().removeIf(entry -> references(entry.response(), userId));
+        synchronized (finalized) {
+            Set<Long> ids = finalizedByUser.remove(userId);
+            if (ids != null) {
+                ids.forEach(this::removeFinalized);
+            }
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        evict(event.transactionId());
+        invalidationBus.publish(TRANSACTION_REGION, event.transactionId());
+    }
+    
+    private TransactionResponse lookup(Long id) {
+        TransactionResponse cached = lookupFinalized(id);
+        if (cached != null) {
+            return cached;
+        }
+        
+        MutableEntry recent = mutable.get(id);
+        if (recent != null) {
+            if (recent.expiresAt() - System.nanoTime() > 0) {
+                mutableHits.increment();
+                return copy(recent.response());
+            }
+            mutable.remove(id, recent);
+        }
+        return null;
+    }
+    
+    private TransactionResponse lookupFinalized(Long id) {
+        FinalizedEntry entry;
+        synchronized (finalized) {
+            entry = finalized.get(id);
+        }
+        if (entry == null) {
+            return null;
+        }
+        finalizedHits.increment();
+        return read(entry);
+    }
+    
+    private void store(TransactionResponse response, Load load) {
+        if (stale(response, load)) {
+            return;
+        }
+        
+        if (response.getStatus() == TransactionStatus.FINALISEE) {
+            Long createdById = userId(response.getCreatedBy());
+            Long validatedById = userId(response.getValidatedBy());
+            Long finalizedById = userId(response.getFinalizedBy());
+            Object value = offHeap ? write(response) : copy(response);
+            synchronized (finalized) {
+                // Revérifié sous le verrou : evict et evictUserEntries datent avant d'y entrer
+                if (stale(response, load)) {
+                    released(new FinalizedEntry(value, null, null, null));
+                    return;
+                }
+                removeFinalized(response.getId());
+                finalized.put(response.getId(), new FinalizedEntry(value, createdById, validatedById, finalizedById));
+                index(createdById, response.getId());
+                index(validatedById, response.getId());
+                index(finalizedById, response.getId());
+            }
+            return;
+        }
+        
+        if (mutable.size() >= mutableMaxEntries) {
+            long now = System.nanoTime();
+            mutable.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            if (mutable.size() >= mutableMaxEntries) {
+                return;
+            }
+        }
+        MutableEntry entry = new MutableEntry(copy(response), System.nanoTime() + mutableTtlNanos);
+        mutable.put(response.getId(), entry);
+        // Une invalidation datée entre la vérification et l'insertion a pu supprimer avant nous
+        if (stale(response, load)) {
+            mutable.remove(response.getId(), entry);
+        }
+    }
+    
+    private boolean stale(TransactionResponse response, Load load) {
+        if (System.nanoTime() - load.nanos() > STAMP_RETENTION_NANOS || clearedAt.get() > load.sequence()) {
+            return true;
+        }
+        return invalidatedSince(transactionStamps, response.getId(), load)
+                || invalidatedSince(userStamps, userId(response.getCreatedBy()), load)
+                || invalidatedSince(userStamps, userId(response.getValidatedBy()), load)
+                || invalidatedSince(userStamps, userId(response.getFinalizedBy()), load);
+    }
+    
+    private void invalidated(ConcurrentHashMap<Long, Stamp> stamps, Long key) {
+        long next = sequence.incrementAndGet();
+        long now = System.nanoTime();
+        stamps.merge(key, new Stamp(next, now), (current, stamp) -> current.sequence() >= stamp.sequence() ? current : stamp);
+        if (next % STAMP_PRUNE_INTERVAL == 0) {
+            // Toute lecture commencée avant ces dates dépasse la rétention et sera refusée
+            transactionStamps.values().removeIf(stamp -> now - stamp.nanos() > STAMP_RETENTION_NANOS);
+            userStamps.values().removeIf(stamp -> now - stamp.nanos() > STAMP_RETENTION_NANOS);
+        }
+    }
+    
+    private static boolean invalidatedSince(Map<Long, Stamp> stamps, Long key, Load load) {
+        if (key == null) {
+            return false;
+        }
+        Stamp stamp = stamps.get(key);
+        return stamp != null && stamp.sequence() > load.sequence();
+    }
+    
+    // Appelées sous le verrou de finalized
+    private void removeFinalized(Long id) {
+        FinalizedEntry removed = finalized.remove(id);
+        if (removed != null) {
+            released(id, removed);
+        }
+    }
+    
+    private void index(Long userId, Long id) {
+        if (userId != null) {
+            finalizedByUser.computeIfAbsent(userId, key -> new HashSet<>()).add(id);
+        }
+    }
+    
+    private void unindex(Long userId, Long id) {
+        if (userId == null) {
+            return;
+        }
+        Set<Long> ids = finalizedByUser.get(userId);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            finalizedByUser.remove(userId);
+        }
+    }
+    
+    private int finalizedSize() {
+        synchronized (finalized) {
+            return finalized.size();
+        }
+    }
+    
+    private ByteBuffer write(TransactionResponse response) {
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(json.length);
+        buffer.put(json).flip();
+        offHeapBytes.addAndGet(json.length);
+        return buffer;
+    }
+    
+    private TransactionResponse read(FinalizedEntry entry) {
+        if (!(entry.value() instanceof ByteBuffer buffer)) {
+            return copy((TransactionResponse) entry.value());
+        }
+        byte[] json = new byte[buffer.remaining()];
+        buffer.duplicate().get(json);
+        return objectMapper.readValue(json, TransactionResponse.class);
+    }
+    
+    private void released(FinalizedEntry entry) {
+        if (entry.value() instanceof ByteBuffer buffer) {
+            offHeapBytes.addAndGet(-buffer.capacity());
+        }
+    }
+    
+    private void released(Long id, FinalizedEntry entry) {
+        released(entry);
+        unindex(entry.createdById(), id);
+        unindex(entry.validatedById(), id);
+        unindex(entry.finalizedById(), id);
+    }
+    
+    private static TransactionResponse copy(TransactionResponse response) {
+        return response.toBuilder()
+                .createdBy(copy(response.getCreatedBy()))
+                .validatedBy(copy(response.getValidatedBy()))
+                .finalizedBy(copy(response.getFinalizedBy()))
+                .build();
+    }
+    
+    private static UserResponse copy(UserResponse user) {
+        return user == null ? null : user.toBuilder().build();
+    }
+    
+    private static boolean references(TransactionResponse response, Long userId) {
+        return userId.equals(userId(response.getCreatedBy()))
+                || userId.equals(userId(response.getValidatedBy()))
+                || userId.equals(userId(response.getFinalizedBy()));
+    }
+    
+    private static Long userId(UserResponse user) {
+        return user == null ? null : user.getId();
+    }
+    
+    private static Counter requests(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("fintrack.cache.requests")
+                .description("Lectures du cache des transactions")
+                .tag("cache", "transactions")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(registry);
+    }
+    
+    // Valeur : copie privée de la TransactionResponse sur le tas, ou JSON dans un ByteBuffer direct
+    private record FinalizedEntry(Object value, Long createdById, Long validatedById, Long finalizedById) {
+    }
+    
+    private record MutableEntry(TransactionResponse response, long expiresAt) {
+    }
+    
+    // Position de la séquence et instant au début d'une lecture
+    private record Load(long sequence, long nanos) {
+    }
+    
+    // Dernière invalidation d'une clé
+    private record Stamp(long sequence, long nanos) {
+    }
+}
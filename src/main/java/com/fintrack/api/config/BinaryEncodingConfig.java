@@ -0,0 +1,63 @@
+package com.fintrack.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.dto.UserResponse;
+
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+/**
+ * Encodages binaires négociés par l'en-tête Accept (application/cbor, application/x-jackson-smile),
+ * JSON restant l'encodage par défaut.
+ * Schéma compact : transactions et utilisateurs sont écrits en tableaux positionnels
+ * (ordre des @JsonPropertyOrder ci-dessous) et les dates en tableaux d'entiers
+ * ([2025,1,6], [2025,1,6,10,15]) ; un client Jackson relit ces formats avec les mêmes mappers.
+ */
+@Configuration
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+    
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper()))
+               .withSmileConverter(new JacksonSmileHttpMessageConverter(smileMapper()));
+    }
+    
+    public static CBORMapper cborMapper() {
+        return CBORMapper.builder()
+                .addMixIn(TransactionResponse.class, CompactTransaction.class)
+                .addMixIn(UserResponse.class, CompactUser.class)
+                .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+    
+    // Smile référence en plus les chaînes déjà écrites (emails, libellés répétés)
+    public static SmileMapper smileMapper() {
+        return SmileMapper.builder()
+                .addMixIn(TransactionResponse.class, CompactTransaction.class)
+                .addMixIn(UserResponse.class, CompactUser.class)
+                .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+    
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "amount", "transactionType", "category", "status", "description", "transactionDate",
+            "createdBy", "validatedBy", "finalizedBy", "claimExpiresAt", "possibleDuplicateOf", "createdAt", "updatedAt"})
+    abstract static class CompactTransaction {
+    }
+    
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "email", "firstName", "lastName", "role", "isActive", "createdAt", "updatedAt"})
+    abstract static class CompactUser {
+    }
+}
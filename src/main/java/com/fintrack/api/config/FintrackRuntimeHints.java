@@ -0,0 +1,70 @@
+package com.fintrack.api.config;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import com.fintrack.api.dto.LoginResponse;
+import com.fintrack.api.dto.TransactionCreateRequest;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.dto.UserCreateRequest;
+import com.fintrack.api.dto.UserResponse;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+
+/**
+ * Indications de réflexion pour le traitement AOT et l'image native :
+ * ModelMapper introspecte getters, setters et constructeurs des types mappés,
+ * jjwt instancie ses implémentations par nom de classe et via ServiceLoader,
+ * SqlStatementCounter enveloppe connexions et requêtes JDBC dans des proxys JDK.
+ */
+public class FintrackRuntimeHints implements RuntimeHintsRegistrar {
+    
+    private static final Class<?>[] MODEL_MAPPER_TYPES = {
+        Transaction.class, User.class,
+        TransactionCreateRequest.class, TransactionResponse.class,
+        UserCreateRequest.class, UserResponse.class, LoginResponse.class
+    };
+    
+    private static final String[] JJWT_TYPES = {
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParser",
+        "io.jsonwebtoken.impl.DefaultClaims",
+        "io.jsonwebtoken.impl.DefaultHeader",
+        "io.jsonwebtoken.impl.DefaultJwsHeader",
+        "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+    
+    private static final Class<?>[] JDBC_PROXY_TYPES = {
+        Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class
+    };
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : MODEL_MAPPER_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+        
+        for (Class<?> type : JDBC_PROXY_TYPES) {
+            hints.proxies().registerJdkProxy(type);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.fintrack.api.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.api.enums.Role;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fintrack.rate-limit")
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    // Nombre maximal d'utilisateurs suivis en mémoire
+    private int maxTrackedPrincipals = 50000;
+    
+    // Quota appliqué aux rôles sans configuration dédiée
+    private Quota defaultQuota = new Quota();
+    
+    private Map<Role, Quota> quotas = new EnumMap<>(Role.class);
+    
+    public Quota quotaFor(Role role) {
+        return quotas.getOrDefault(role, defaultQuota);
+    }
+    
+    @Data
+    public static class Quota {
+        private int readPerMinute = 600;
+        private int writePerMinute = 120;
+        private int exportPerMinute = 10;
+    }
+}
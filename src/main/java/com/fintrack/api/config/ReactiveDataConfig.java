@@ -0,0 +1,66 @@
+package com.fintrack.api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Accès non bloquant à MySQL (pilote R2DBC) pour l'API de lecture réactive.
+ * Pas de gestionnaire de transactions réactif : les écritures restent sur JPA.
+ * Le pool n'est volontairement pas exposé comme bean : un bean ConnectionFactory
+ * ferait reculer l'auto-configuration du DataSource JDBC (JPA, JdbcTemplate).
+ */
+@Configuration
+public class ReactiveDataConfig {
+    
+    @Value("${fintrack.reactive.url:r2dbc:mysql://localhost:3306/fintrack_db}")
+    private String url;
+    
+    @Value("${spring.datasource.username}")
+    private String username;
+    
+    @Value("${spring.datasource.password:}")
+    private String password;
+    
+    @Value("${fintrack.reactive.pool-max-size:20}")
+    private int poolMaxSize;
+    
+    @Value("${fintrack.reactive.max-idle-ms:1800000}")
+    private long maxIdleMs;
+    
+    private ConnectionPool pool;
+    
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username);
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        
+        // Aucune connexion ouverte avant la première requête réactive
+        pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .initialSize(0)
+                .maxSize(poolMaxSize)
+                .maxIdleTime(Duration.ofMillis(maxIdleMs))
+                .build());
+        return DatabaseClient.create(pool);
+    }
+    
+    @PreDestroy
+    public void closePool() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
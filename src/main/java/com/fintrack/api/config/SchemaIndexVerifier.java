@@ -0,0 +1,87 @@
+package com.fintrack.api.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vérifie au démarrage que les index attendus par les requêtes de
+ * TransactionRepository existent (colonnes et ordre) après les migrations.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexVerifier {
+    
+    private static final String TRANSACTIONS_TABLE = "transactions";
+    
+    // Index attendu -> colonnes dans l'ordre
+    private static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+        "idx_pending_queue", List.of("status", "transaction_date", "id"),
+        "idx_type_status_date_amount", List.of("transaction_type", "status", "transaction_date", "amount"),
+        "idx_date_amount", List.of("transaction_date", "amount"),
+        "idx_created_by_date", List.of("created_by", "transaction_date"),
+        "idx_claim_expires", List.of("claim_expires_at")
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${fintrack.schema.verify-indexes:true}")
+    private boolean enabled;
+    
+    // En mode strict, un index manquant empêche le démarrage
+    @Value("${fintrack.schema.verify-indexes-strict:false}")
+    private boolean strict;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+        
+        Map<String, List<String>> actual = loadIndexes(TRANSACTIONS_TABLE);
+        List<String> problems = new ArrayList<>();
+        EXPECTED_INDEXES.forEach((name, columns) -> {
+            List<String> found = actual.get(name);
+            if (found == null) {
+                problems.add(name + " absent");
+            } else if (!found.equals(columns)) {
+                problems.add(name + " sur " + found + " au lieu de " + columns);
+            }
+        });
+        
+        if (problems.isEmpty()) {
+            log.info("Index de la table {} conformes ({} vérifiés)", TRANSACTIONS_TABLE, EXPECTED_INDEXES.size());
+            return;
+        }
+        
+        String message = "Index attendus non conformes sur " + TRANSACTIONS_TABLE + " : " + String.join(", ", problems);
+        if (strict) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+    
+    private Map<String, List<String>> loadIndexes(String table) {
+        Map<String, List<String>> indexes = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT index_name, column_name FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = ? " +
+            "ORDER BY index_name, seq_in_index",
+            rs -> {
+                indexes.computeIfAbsent(rs.getString(1), k -> new ArrayList<>()).add(rs.getString(2));
+            },
+            table);
+        return indexes;
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.fintrack.api.security.JwtAuthFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -35,8 +36,13 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Les dispatchs asynchrones (SSE) ont déjà été autorisés sur la requête initiale
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Endpoints publics
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 
                 // Endpoints utilisateurs
                 .requestMatchers("/api/users/**").hasAnyRole("ADMIN", "MANAGER")
@@ -47,6 +53,13 @@ public class SecurityConfig {
                 .requestMatchers("/api/transactions/*/finalize").hasRole("ADMIN")
                 .requestMatchers("/api/transactions/*/delete").hasRole("ADMIN")
                 .requestMatchers("/api/transactions/**").authenticated()
+                .requestMatchers("/api/reactive/**").authenticated()
+                
+                // Journal d'audit
+                .requestMatchers("/api/audit/**").hasAnyRole("ADMIN", "MANAGER")
+                
+                // Exports asynchrones
+                .requestMatchers("/api/exports/**").authenticated()
                 
                 // Tous les autres endpoints nécessitent une authentification
                 .anyRequest().authenticated()
@@ -0,0 +1,67 @@
+package com.fintrack.api.config;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.enums.TransactionType;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fintrack.limits")
+public class SpendingLimitProperties {
+    
+    private boolean enabled = true;
+    
+    private List<Rule> rules = new ArrayList<>();
+    
+    // Plafond cumulé des transactions d'un utilisateur du rôle sur la période ;
+    // une catégorie absente couvre toutes les catégories du type
+    @Data
+    public static class Rule {
+        private Role role;
+        private TransactionType transactionType;
+        private Category category;
+        private Period period = Period.DAY;
+        private BigDecimal maxAmount;
+    }
+    
+    // Périodes calendaires, déterminées par la date de la transaction
+    public enum Period {
+        DAY, WEEK, MONTH;
+        
+        public LocalDate start(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+        
+        public LocalDate end(LocalDate start) {
+            return switch (this) {
+                case DAY -> start;
+                case WEEK -> start.plusDays(6);
+                case MONTH -> start.plusMonths(1).minusDays(1);
+            };
+        }
+        
+        public String label() {
+            return switch (this) {
+                case DAY -> "par jour";
+                case WEEK -> "par semaine";
+                case MONTH -> "par mois";
+            };
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.fintrack.api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fintrack.api.metrics.SqlStatementCounter;
+
+/**
+ * Enveloppe la DataSource dans {@link SqlStatementCounter} : les requêtes JdbcTemplate
+ * sont comptées et chronométrées comme celles d'Hibernate.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlMetricsConfig {
+    
+    @Bean
+    static BeanPostProcessor sqlStatementCounterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatementCounter)) {
+                    return new SqlStatementCounter(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.fintrack.api.controller;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fintrack.api.dto.AmountStatsRebuildResponse;
+import com.fintrack.api.dto.AmountStatsResponse;
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.service.AmountStatsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/stats/amounts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AmountStatsController {
+    
+    private final AmountStatsService amountStatsService;
+    
+    // Quantiles et histogramme par catégorie, type et mois, ex. ?from=2025-01&to=2025-12&quantiles=0.5,0.9,0.99
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<ApiResponse<AmountStatsResponse>> getStats(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) List<Double> quantiles) {
+        AmountStatsResponse stats = amountStatsService.getStats(from, to, category, type, quantiles);
+        return ResponseEntity.ok(ApiResponse.success(stats));
+    }
+    
+    // Recalcul complet depuis l'historique (transactions et archive), parallélisé par mois
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<AmountStatsRebuildResponse>> rebuild() {
+        AmountStatsRebuildResponse response = amountStatsService.rebuild();
+        return ResponseEntity.ok(ApiResponse.success("Statistiques de montants reconstruites", response));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fintrack.api.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.service.ApprovalQueueService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/transactions/queue")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ApprovalQueueController {
+    
+    private final ApprovalQueueService approvalQueueService;
+    
+    @PostMapping("/claim")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<TransactionResponse>>> claimNext(
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        List<TransactionResponse> claimed = approvalQueueService.claimNext(limit, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(claimed.size() + " transaction(s) réservée(s)", claimed));
+    }
+    
+    @GetMapping("/mine")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<List<TransactionResponse>>> getMyClaims(Authentication authentication) {
+        List<TransactionResponse> claims = approvalQueueService.getMyClaims(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(claims));
+    }
+    
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> releaseClaim(
+            @PathVariable Long id,
+            Authentication authentication) {
+        approvalQueueService.releaseClaim(id, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Réservation libérée", null));
+    }
+    
+    @DeleteMapping
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> releaseMyClaims(Authentication authentication) {
+        int released = approvalQueueService.releaseMyClaims(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Réservations libérées", released));
+    }
+}
@@ -0,0 +1,50 @@
+package com.fintrack.api.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.AuditLogResponse;
+import com.fintrack.api.service.AuditService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AuditController {
+    
+    private final AuditService auditService;
+    
+    // Historique complet d'une entité (Transaction, User), du plus récent au plus ancien
+    @GetMapping("/{entityType}/{entityId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getHistory(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<AuditLogResponse> history = auditService.getHistory(entityType, entityId, limit);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+    
+    // Entrées ayant modifié un champ donné, ex. /api/audit/Transaction/fields/amount
+    @GetMapping("/{entityType}/fields/{field}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getFieldHistory(
+            @PathVariable String entityType,
+            @PathVariable String field,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<AuditLogResponse> history = auditService.getFieldHistory(entityType, entityId, field, limit);
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
+}
@@ -4,12 +4,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fintrack.api.dto.ApiResponse;
 import com.fintrack.api.dto.LoginRequest;
 import com.fintrack.api.dto.LoginResponse;
+import com.fintrack.api.exception.UnauthorizedException;
+import com.fintrack.api.service.TokenRevocationService;
 import com.fintrack.api.service.UserService;
 
 import jakarta.validation.Valid;
@@ -22,10 +25,22 @@ import lombok.RequiredArgsConstructor;
 public class AuthController {
     
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
     
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
         LoginResponse response = userService.login(request);
         return ResponseEntity.ok(ApiResponse.success("Connexion réussie", response));
     }
+    
+    // Le jeton présenté est refusé par toutes les instances en quelques secondes
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new UnauthorizedException("Jeton manquant");
+        }
+        tokenRevocationService.revokeToken(authorization.substring(7));
+        return ResponseEntity.ok(ApiResponse.success("Déconnexion réussie", null));
+    }
 }
@@ -0,0 +1,156 @@
+package com.fintrack.api.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.ExportJobResponse;
+import com.fintrack.api.dto.ExportRequest;
+import com.fintrack.api.service.ExportJobService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ExportController {
+    
+    // Attributs sendfile du connecteur Tomcat NIO
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    // Marque un téléchargement relayé par une autre instance
+    private static final String FORWARDED_HEADER = "X-Fintrack-Forwarded";
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    
+    private final ExportJobService exportJobService;
+    
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> submit(
+            @Valid @RequestBody ExportRequest request,
+            Authentication authentication) {
+        ExportJobResponse response = exportJobService.submit(request, authentication.getName());
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Export planifié", response));
+    }
+    
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<ExportJobResponse>>> getMyJobs(Authentication authentication) {
+        List<ExportJobResponse> jobs = exportJobService.getMyJobs(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(jobs));
+    }
+    
+    @GetMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<ExportJobResponse>> getJob(
+            @PathVariable Long id,
+            Authentication authentication) {
+        ExportJobResponse response = exportJobService.getJob(id, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    // Le fichier est envoyé sans passer par le tas : sendfile quand le connecteur le permet,
+    // sinon FileChannel.transferTo vers le flux de réponse. Un fichier écrit par une autre
+    // instance est relayé depuis celle-ci, avec le jeton du client
+    @GetMapping("/{id}/file")
+    @PreAuthorize("isAuthenticated()")
+    public void download(
+            @PathVariable Long id,
+            Authentication authentication,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        ExportJobService.ExportFile file = exportJobService.getFile(id, authentication.getName(),
+                request.getHeader(FORWARDED_HEADER) != null);
+        if (file.remoteUrl() != null) {
+            relay(file, request, response);
+            return;
+        }
+        
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(file.size());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.fileName()).build().toString());
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, file.size());
+            return;
+        }
+        
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < file.size()) {
+                position += channel.transferTo(position, file.size() - position, out);
+            }
+        }
+    }
+    
+    private static void relay(ExportJobService.ExportFile file, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        HttpRequest forward = HttpRequest.newBuilder(URI.create(file.remoteUrl()))
+                .header(HttpHeaders.AUTHORIZATION, request.getHeader(HttpHeaders.AUTHORIZATION))
+                .header(FORWARDED_HEADER, "1")
+                .GET()
+                .build();
+        HttpResponse<InputStream> remote;
+        try {
+            remote = HTTP_CLIENT.send(forward, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Instance de l'export injoignable");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Relais de l'export interrompu", e);
+        }
+        
+        try (InputStream body = remote.body()) {
+            if (remote.statusCode() != HttpStatus.OK.value()) {
+                response.sendError(remote.statusCode());
+                return;
+            }
+            response.setContentType(file.contentType());
+            response.setContentLengthLong(file.size());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(file.fileName()).build().toString());
+            body.transferTo(response.getOutputStream());
+        }
+    }
+}
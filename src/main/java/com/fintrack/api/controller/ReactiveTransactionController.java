@@ -0,0 +1,82 @@
+package com.fintrack.api.controller;
+
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.MonthlyStatistics;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+// Lecture seule non bloquante : en application/x-ndjson chaque élément est écrit
+// dès qu'il est lu, au rythme du client ; en application/json la liste est agrégée
+@RestController
+@RequestMapping("/api/reactive/transactions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReactiveTransactionController {
+    
+    private final ReactiveTransactionService reactiveTransactionService;
+    
+    @GetMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ApiResponse<TransactionResponse>> getTransactionById(@PathVariable Long id) {
+        return reactiveTransactionService.getTransactionById(id).map(ApiResponse::success);
+    }
+    
+    @GetMapping(produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("isAuthenticated()")
+    public Flux<TransactionResponse> getAllTransactions() {
+        return reactiveTransactionService.getAllTransactions();
+    }
+    
+    @GetMapping(value = "/my-transactions", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("isAuthenticated()")
+    public Flux<TransactionResponse> getMyTransactions(Authentication authentication) {
+        return reactiveTransactionService.getMyTransactions(authentication.getName());
+    }
+    
+    @GetMapping(value = "/status/{status}", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("isAuthenticated()")
+    public Flux<TransactionResponse> getTransactionsByStatus(@PathVariable TransactionStatus status) {
+        return reactiveTransactionService.getTransactionsByStatus(status);
+    }
+    
+    @GetMapping(value = "/type/{type}", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("isAuthenticated()")
+    public Flux<TransactionResponse> getTransactionsByType(@PathVariable TransactionType type) {
+        return reactiveTransactionService.getTransactionsByType(type);
+    }
+    
+    @GetMapping(value = "/category/{category}", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("isAuthenticated()")
+    public Flux<TransactionResponse> getTransactionsByCategory(@PathVariable Category category) {
+        return reactiveTransactionService.getTransactionsByCategory(category);
+    }
+    
+    @GetMapping(value = "/date-range", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("isAuthenticated()")
+    public Flux<TransactionResponse> getTransactionsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return reactiveTransactionService.getTransactionsByDateRange(startDate, endDate);
+    }
+    
+    @GetMapping(value = "/statistics/monthly", produces = { MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public Flux<MonthlyStatistics> getMonthlyStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return reactiveTransactionService.getMonthlyStatistics(startDate, endDate);
+    }
+}
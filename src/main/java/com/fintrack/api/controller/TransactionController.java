@@ -3,19 +3,28 @@ package com.fintrack.api.controller;
 import com.fintrack.api.dto.TransactionCreateRequest;
 import com.fintrack.api.dto.TransactionUpdateRequest;
 import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.BatchItem;
+import com.fintrack.api.dto.TransactionChanges;
 import com.fintrack.api.dto.TransactionResponse;
 import com.fintrack.api.enums.Category;
 import com.fintrack.api.enums.TransactionStatus;
 import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.exception.ServiceUnavailableException;
+import com.fintrack.api.service.IdempotencyService;
+import com.fintrack.api.service.PendingQueueStreamService;
 import com.fintrack.api.service.TransactionService;
+import com.fintrack.api.service.TransactionSyncService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -26,20 +35,36 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class TransactionController {
     
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
     private final TransactionService transactionService;
+    private final PendingQueueStreamService pendingQueueStreamService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionSyncService transactionSyncService;
     
     @PostMapping
     @PreAuthorize("hasAnyRole('COMPTABLE', 'MANAGER', 'ADMIN')")
     public ResponseEntity<ApiResponse<TransactionResponse>> createTransaction(
             @Valid @RequestBody TransactionCreateRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        TransactionResponse response = transactionService.createTransaction(request, userEmail);
+        TransactionResponse response = idempotencyService.execute(idempotencyKey, userEmail,
+                idempotencyService.scopeOf("CREATE_TRANSACTION", request), TransactionResponse.class,
+                () -> transactionService.createTransaction(request, userEmail));
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Transaction créée avec succès", response));
     }
     
+    @GetMapping("/batch")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<List<BatchItem<TransactionResponse>>>> getTransactionsByIds(
+            @RequestParam List<Long> ids) {
+        List<BatchItem<TransactionResponse>> transactions = transactionService.getTransactionsByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success(transactions));
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<TransactionResponse>> getTransactionById(@PathVariable Long id) {
@@ -63,6 +88,18 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
     
+    // Synchronisation incrémentale : sans curseur, renvoie tout l'historique page par page
+    @GetMapping("/changes")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<TransactionChanges>> getChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limit,
+            @RequestParam(defaultValue = "true") boolean mine,
+            Authentication authentication) {
+        TransactionChanges changes = transactionSyncService.getChanges(cursor, limit, mine, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(changes));
+    }
+    
     @GetMapping("/status/{status}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<List<TransactionResponse>>> getTransactionsByStatus(
@@ -71,6 +108,18 @@ public class TransactionController {
         return ResponseEntity.ok(ApiResponse.success(transactions));
     }
     
+    @GetMapping(value = "/pending/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<SseEmitter> streamPendingTransactions() {
+        try {
+            return ResponseEntity.ok(pendingQueueStreamService.subscribe());
+        } catch (ServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        }
+    }
+    
     @GetMapping("/type/{type}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<List<TransactionResponse>>> getTransactionsByType(
@@ -121,9 +170,12 @@ public class TransactionController {
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
     public ResponseEntity<ApiResponse<TransactionResponse>> validateTransaction(
             @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        TransactionResponse response = transactionService.validateTransaction(id, userEmail);
+        TransactionResponse response = idempotencyService.execute(idempotencyKey, userEmail,
+                "VALIDATE_TRANSACTION:" + id, TransactionResponse.class,
+                () -> transactionService.validateTransaction(id, userEmail));
         return ResponseEntity.ok(ApiResponse.success("Transaction validée avec succès", response));
     }
     
@@ -131,9 +183,12 @@ public class TransactionController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<TransactionResponse>> finalizeTransaction(
             @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        TransactionResponse response = transactionService.finalizeTransaction(id, userEmail);
+        TransactionResponse response = idempotencyService.execute(idempotencyKey, userEmail,
+                "FINALIZE_TRANSACTION:" + id, TransactionResponse.class,
+                () -> transactionService.finalizeTransaction(id, userEmail));
         return ResponseEntity.ok(ApiResponse.success("Transaction finalisée avec succès", response));
     }
     
@@ -141,9 +196,12 @@ public class TransactionController {
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
     public ResponseEntity<ApiResponse<TransactionResponse>> rejectTransaction(
             @PathVariable Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        TransactionResponse response = transactionService.rejectTransaction(id, userEmail);
+        TransactionResponse response = idempotencyService.execute(idempotencyKey, userEmail,
+                "REJECT_TRANSACTION:" + id, TransactionResponse.class,
+                () -> transactionService.rejectTransaction(id, userEmail));
         return ResponseEntity.ok(ApiResponse.success("Transaction rejetée avec succès", response));
     }
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,13 +15,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.dto.BatchItem;
+import com.fintrack.api.dto.UserBulkCreateRequest;
+import com.fintrack.api.dto.UserBulkCreateResponse;
 import com.fintrack.api.dto.UserCreateRequest;
 import com.fintrack.api.dto.UserResponse;
 import com.fintrack.api.dto.UserUpdateRequest;
 import com.fintrack.api.enums.Role;
+import com.fintrack.api.service.UserProvisioningService;
 import com.fintrack.api.service.UserService;
 
 import jakarta.validation.Valid;
@@ -33,6 +39,7 @@ import lombok.RequiredArgsConstructor;
 public class UserController {
     
     private final UserService userService;
+    private final UserProvisioningService userProvisioningService;
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')") 
@@ -43,6 +50,23 @@ public class UserController {
                 .body(ApiResponse.success("Utilisateur créé avec succès", response));
     }
     
+    // Création en masse : un résultat par utilisateur demandé, doublons et emails existants signalés
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserBulkCreateResponse>> createUsers(
+            @Valid @RequestBody UserBulkCreateRequest request) {
+        UserBulkCreateResponse response = userProvisioningService.createUsers(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                response.getCreated() + " utilisateur(s) créé(s) sur " + response.getRequested(), response));
+    }
+    
+    @GetMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<ApiResponse<List<BatchItem<UserResponse>>>> getUsersByIds(@RequestParam List<Long> ids) {
+        List<BatchItem<UserResponse>> users = userService.getUsersByIds(ids);
+        return ResponseEntity.ok(ApiResponse.success(users));
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable Long id) {
@@ -75,8 +99,9 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<UserResponse>> updateUser(
             @PathVariable Long id, 
-            @Valid @RequestBody UserUpdateRequest request) {
-        UserResponse response = userService.updateUser(id, request);
+            @Valid @RequestBody UserUpdateRequest request,
+            Authentication authentication) {
+        UserResponse response = userService.updateUser(id, request, authentication.getName());
         return ResponseEntity.ok(ApiResponse.success("Utilisateur modifié avec succès", response));
     }
     
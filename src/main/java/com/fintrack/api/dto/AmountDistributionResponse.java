@@ -0,0 +1,31 @@
+package com.fintrack.api.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Distribution d'un groupe ; category, transactionType et month sont null pour le total
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmountDistributionResponse {
+    private Category category;
+    private TransactionType transactionType;
+    private YearMonth month;
+    private Long count;
+    private BigDecimal sum;
+    private BigDecimal mean;
+    // Clés p50, p90, p99...
+    private Map<String, BigDecimal> quantiles;
+    private List<AmountHistogramBucket> histogram;
+}
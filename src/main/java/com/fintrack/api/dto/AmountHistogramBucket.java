@@ -0,0 +1,19 @@
+package com.fintrack.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Bucket [lowerBound, upperBound) ; upperBound null pour le dernier
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmountHistogramBucket {
+    private BigDecimal lowerBound;
+    private BigDecimal upperBound;
+    private Long count;
+}
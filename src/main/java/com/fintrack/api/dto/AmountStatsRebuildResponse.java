@@ -0,0 +1,17 @@
+package com.fintrack.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmountStatsRebuildResponse {
+    private Integer months;
+    private Integer groups;
+    private Long transactions;
+    private Long durationMs;
+}
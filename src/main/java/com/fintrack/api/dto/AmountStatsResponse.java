@@ -0,0 +1,23 @@
+package com.fintrack.api.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmountStatsResponse {
+    private YearMonth from;
+    private YearMonth to;
+    // Erreur relative maximale des quantiles (0.01 = 1 %)
+    private Double quantileRelativeError;
+    private String errorBounds;
+    private List<AmountDistributionResponse> groups;
+    private AmountDistributionResponse total;
+}
@@ -0,0 +1,25 @@
+package com.fintrack.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogResponse {
+    private Long id;
+    private Long userId;
+    private String userEmail;
+    private String action;
+    private String entityType;
+    private Long entityId;
+    private String details;
+    private List<FieldChange> changes;
+    private LocalDateTime createdAt;
+}
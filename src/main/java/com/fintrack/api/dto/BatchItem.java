@@ -0,0 +1,36 @@
+package com.fintrack.api.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Résultat d'une lecture groupée : un élément par identifiant demandé
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItem<T> {
+    private Long id;
+    private Boolean found;
+    private T data;
+    
+    // Résultats dans l'ordre des identifiants, avec un marqueur pour les absents
+    public static <T> List<BatchItem<T>> inOrder(Collection<Long> ids, Map<Long, T> results) {
+        List<BatchItem<T>> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T data = results.get(id);
+            items.add(BatchItem.<T>builder()
+                    .id(id)
+                    .found(data != null)
+                    .data(data)
+                    .build());
+        }
+        return items;
+    }
+}
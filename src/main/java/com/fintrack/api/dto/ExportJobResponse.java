@@ -0,0 +1,35 @@
+package com.fintrack.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fintrack.api.enums.ExportFormat;
+import com.fintrack.api.enums.ExportStatus;
+import com.fintrack.api.enums.ExportType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponse {
+    private Long id;
+    private ExportType exportType;
+    private ExportFormat format;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ExportStatus status;
+    private Long rowsWritten;
+    private Long rowsTotal;
+    // Pourcentage d'avancement, null tant que le total n'est pas connu
+    private Integer progress;
+    private Long fileSize;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,31 @@
+package com.fintrack.api.dto;
+
+import java.time.LocalDate;
+
+import com.fintrack.api.enums.ExportFormat;
+import com.fintrack.api.enums.ExportType;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportRequest {
+    
+    @NotNull(message = "Le type d'export est obligatoire")
+    private ExportType exportType;
+    
+    @NotNull(message = "Le format est obligatoire")
+    private ExportFormat format;
+    
+    @NotNull(message = "La date de début est obligatoire")
+    private LocalDate startDate;
+    
+    @NotNull(message = "La date de fin est obligatoire")
+    private LocalDate endDate;
+}
@@ -0,0 +1,17 @@
+package com.fintrack.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Valeur d'un champ avant et après une modification
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FieldChange {
+    private String field;
+    private String before;
+    private String after;
+}
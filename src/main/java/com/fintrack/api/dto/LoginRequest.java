@@ -19,8 +19,4 @@ public class LoginRequest {
     
     @NotBlank(message = "Le mot de passe est obligatoire")
     private String password;
-
-    public CharSequence getPassword() {
-        throw new UnsupportedOperationException("Not supported yet.");
-    }
 }
@@ -0,0 +1,20 @@
+package com.fintrack.api.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyStatistics {
+    private String month;
+    private Long totalTransactions;
+    private BigDecimal totalCredits;
+    private BigDecimal totalDebits;
+    private BigDecimal balance;
+}
@@ -0,0 +1,18 @@
+package com.fintrack.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingQueueDelta {
+    // ADDED, UPDATED ou REMOVED
+    private String type;
+    private Long transactionId;
+    // Absent pour REMOVED
+    private TransactionResponse transaction;
+}
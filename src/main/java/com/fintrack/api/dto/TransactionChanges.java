@@ -0,0 +1,20 @@
+package com.fintrack.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Page du flux de synchronisation : à rappeler avec nextCursor tant que hasMore est vrai
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionChanges {
+    private List<TransactionResponse> upserts;
+    private List<Long> deletedIds;
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -14,7 +14,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TransactionResponse {
@@ -28,6 +28,9 @@ public class TransactionResponse {
     private UserResponse createdBy;
     private UserResponse validatedBy;
     private UserResponse finalizedBy;
+    private LocalDateTime claimExpiresAt;
+    // Renseigné à la création quand une transaction identique existe déjà
+    private Long possibleDuplicateOf;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
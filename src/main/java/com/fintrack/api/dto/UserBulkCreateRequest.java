@@ -0,0 +1,21 @@
+package com.fintrack.api.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkCreateRequest {
+    
+    @NotEmpty(message = "La liste des utilisateurs est obligatoire")
+    @Valid
+    private List<UserCreateRequest> users;
+}
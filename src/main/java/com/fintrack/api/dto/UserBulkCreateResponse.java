@@ -0,0 +1,23 @@
+package com.fintrack.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkCreateResponse {
+    private Integer requested;
+    private Integer created;
+    private Integer rejected;
+    private Long hashingMs;
+    private Long insertMs;
+    private Long durationMs;
+    private Double usersPerSecond;
+    private List<UserBulkResult> results;
+}
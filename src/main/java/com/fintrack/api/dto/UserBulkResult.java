@@ -0,0 +1,20 @@
+package com.fintrack.api.dto;
+
+import com.fintrack.api.enums.BulkUserStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Résultat de création d'un utilisateur, à la position de la demande
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkResult {
+    private Integer index;
+    private String email;
+    private BulkUserStatus status;
+    private UserResponse user;
+}
@@ -0,0 +1,239 @@
+package com.fintrack.api.duplicate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.repository.TransactionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Détection des doubles saisies : un filtre de Bloom par jour de saisie, sur une
+ * fenêtre glissante, écarte sans requête l'immense majorité des créations ; seul un
+ * succès probable déclenche une requête ciblée (index date + montant) de confirmation.
+ *
+ * Une empreinte n'est ajoutée qu'après le commit de sa création. Les filtres sont propres
+ * à chaque instance : les créations des autres instances y sont rechargées périodiquement
+ * (fintrack.duplicates.refresh-ms), une double saisie répartie sur deux instances dans
+ * cet intervalle n'est donc pas détectée.
+ */
+@Slf4j
+@Component
+public class DuplicateDetector {
+    
+    public enum Mode {
+        OFF, FLAG, REJECT
+    }
+    
+    // Une création est commitée au plus tard une minute après sa date de création
+    private static final long REFRESH_OVERLAP_MINUTES = 1;
+    
+    private final TransactionRepository transactionRepository;
+    private final Mode mode;
+    private final int windowDays;
+    private final long expectedPerDay;
+    private final double falsePositiveRate;
+    
+    // Un filtre par jour de saisie, indexé par jour modulo la fenêtre
+    private final AtomicReferenceArray<Generation> generations;
+    private volatile LocalDateTime loadedUntil;
+    
+    private final Counter negatives;
+    private final Counter probableHits;
+    private final Counter confirmed;
+    
+    public DuplicateDetector(
+            TransactionRepository transactionRepository,
+            MeterRegistry registry,
+            @Value("${fintrack.duplicates.mode:FLAG}") Mode mode,
+            @Value("${fintrack.duplicates.window-days:30}") int windowDays,
+            @Value("${fintrack.duplicates.expected-per-day:10000}") long expectedPerDay,
+            @Value("${fintrack.duplicates.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.transactionRepository = transactionRepository;
+        this.mode = mode;
+        this.windowDays = windowDays;
+        this.expectedPerDay = expectedPerDay;
+        this.falsePositiveRate = falsePositiveRate;
+        this.generations = new AtomicReferenceArray<>(windowDays);
+        
+        negatives = checks(registry, "negative");
+        probableHits = checks(registry, "probable");
+        confirmed = checks(registry, "confirmed");
+        Gauge.builder("fintrack.duplicates.false_positive_rate", this, DuplicateDetector::observedFalsePositiveRate)
+                .description("Succès probables du filtre non confirmés, rapportés aux créations non dupliquées")
+                .register(registry);
+        Gauge.builder("fintrack.duplicates.estimated_false_positive_rate", this, DuplicateDetector::estimatedFalsePositiveRate)
+                .description("Taux de faux positifs estimé d'après le remplissage des filtres")
+                .register(registry);
+        Gauge.builder("fintrack.duplicates.memory.bytes", this, DuplicateDetector::memoryBytes)
+                .register(registry);
+    }
+    
+    public Mode mode() {
+        return mode;
+    }
+    
+    /**
+     * Renvoie l'identifiant d'une transaction existante identique (hors REJETEE), ou null.
+     * L'empreinte de la transaction est enregistrée si la transaction en cours est commitée.
+     */
+    public Long checkAndRecord(Transaction transaction) {
+        if (mode == Mode.OFF) {
+            return null;
+        }
+        
+        TransactionFingerprint fingerprint = TransactionFingerprint.of(transaction.getAmount(),
+                transaction.getTransactionDate(), transaction.getTransactionType(),
+                transaction.getCategory(), transaction.getDescription());
+        long today = LocalDate.now().toEpochDay();
+        boolean probable = mightContain(fingerprint, today);
+        record(fingerprint);
+        if (!probable) {
+            negatives.increment();
+            return null;
+        }
+        
+        probableHits.increment();
+        String description = TransactionFingerprint.normalizeDescription(transaction.getDescription());
+        for (Transaction candidate : transactionRepository.findDuplicateCandidates(transaction.getTransactionDate(),
+                transaction.getAmount(), transaction.getTransactionType(), transaction.getCategory())) {
+            if (!candidate.getId().equals(transaction.getId())
+                    && TransactionFingerprint.normalizeDescription(candidate.getDescription()).equals(description)) {
+                confirmed.increment();
+                return candidate.getId();
+            }
+        }
+        return null;
+    }
+    
+    // Recharge les empreintes des transactions saisies pendant la fenêtre
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        
+        long count = load(LocalDate.now().minusDays(windowDays - 1L).atStartOfDay());
+        log.info("Détecteur de doublons : {} empreintes rechargées sur {} jours", count, windowDays);
+    }
+    
+    // Ajoute les créations commitées depuis le dernier chargement, dont celles des autres instances ;
+    // réajouter une empreinte déjà présente est sans effet
+    @Scheduled(fixedDelayString = "${fintrack.duplicates.refresh-ms:10000}",
+               initialDelayString = "${fintrack.duplicates.refresh-ms:10000}")
+    public void refresh() {
+        LocalDateTime since = loadedUntil;
+        if (mode == Mode.OFF || since == null) {
+            return;
+        }
+        load(since.minusMinutes(REFRESH_OVERLAP_MINUTES));
+    }
+    
+    private long load(LocalDateTime since) {
+        LocalDateTime now = LocalDateTime.now();
+        long count = 0;
+        for (Object[] row : transactionRepository.findFingerprintSourcesSince(since)) {
+            TransactionFingerprint fingerprint = TransactionFingerprint.of((BigDecimal) row[0], (LocalDate) row[1],
+                    (TransactionType) row[2], (Category) row[3], (String) row[4]);
+            long day = ((LocalDateTime) row[5]).toLocalDate().toEpochDay();
+            generation(day).filter().add(fingerprint.hash1(), fingerprint.hash2());
+            count++;
+        }
+        loadedUntil = now;
+        return count;
+    }
+    
+    // Une création refusée (REJECT, plafond) ou annulée ne doit pas marquer ses doublons futurs
+    private void record(TransactionFingerprint fingerprint) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation(LocalDate.now().toEpochDay()).filter().add(fingerprint.hash1(), fingerprint.hash2());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                generation(LocalDate.now().toEpochDay()).filter().add(fingerprint.hash1(), fingerprint.hash2());
+            }
+        });
+    }
+    
+    private boolean mightContain(TransactionFingerprint fingerprint, long today) {
+        for (int i = 0; i < windowDays; i++) {
+            Generation generation = generations.get(i);
+            if (generation != null && today - generation.day() < windowDays
+                    && generation.filter().mightContain(fingerprint.hash1(), fingerprint.hash2())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Le filtre d'un jour sorti de la fenêtre est remplacé à la première saisie du nouveau jour
+    private Generation generation(long day) {
+        int slot = (int) Math.floorMod(day, (long) windowDays);
+        while (true) {
+            Generation current = generations.get(slot);
+            if (current != null && current.day() >= day) {
+                return current;
+            }
+            Generation fresh = new Generation(day, new BloomFilter(expectedPerDay, falsePositiveRate));
+            if (generations.compareAndSet(slot, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+    
+    private double observedFalsePositiveRate() {
+        double falsePositives = probableHits.count() - confirmed.count();
+        double nonDuplicates = negatives.count() + falsePositives;
+        return nonDuplicates == 0 ? 0 : falsePositives / nonDuplicates;
+    }
+    
+    private double estimatedFalsePositiveRate() {
+        double miss = 1;
+        for (int i = 0; i < windowDays; i++) {
+            Generation generation = generations.get(i);
+            if (generation != null) {
+                miss *= 1 - generation.filter().estimatedFalsePositiveRate();
+            }
+        }
+        return 1 - miss;
+    }
+    
+    private double memoryBytes() {
+        long bytes = 0;
+        for (int i = 0; i < windowDays; i++) {
+            Generation generation = generations.get(i);
+            if (generation != null) {
+                bytes += generation.filter().sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+    
+    private static Counter checks(MeterRegistry registry, String result) {
+        return Counter.builder("fintrack.duplicates.checks")
+                .description("Contrôles de doublon à la création")
+                .tag("result", result)
+                .register(registry);
+    }
+    
+    private record Generation(long day, BloomFilter filter) {
+    }
+}
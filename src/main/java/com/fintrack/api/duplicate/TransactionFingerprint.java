@@ -0,0 +1,51 @@
+package com.fintrack.api.duplicate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionType;
+
+/**
+ * Empreinte (montant, date, type, catégorie, libellé normalisé) d'une transaction :
+ * deux saisies de la même facture donnent la même empreinte malgré la casse,
+ * les accents, la ponctuation ou les espaces.
+ */
+public record TransactionFingerprint(long hash1, long hash2) {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    
+    public static TransactionFingerprint of(BigDecimal amount, LocalDate date, TransactionType type,
+                                            Category category, String description) {
+        String canonical = amount.stripTrailingZeros().toPlainString() + '|' + date + '|' + type + '|'
+                + category + '|' + normalizeDescription(description);
+        byte[] bytes = canonical.getBytes(StandardCharsets.UTF_8);
+        
+        // FNV-1a 64 bits, puis deux dérivés indépendants par mélange splitmix64
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return new TransactionFingerprint(mix(hash), mix(hash + 0x9e3779b97f4a7c15L) | 1);
+    }
+    
+    public static String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(description, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+    
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
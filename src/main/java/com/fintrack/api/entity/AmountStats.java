@@ -0,0 +1,68 @@
+package com.fintrack.api.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Distribution persistée des montants d'un groupe (catégorie, type, mois), voir AmountDistribution
+@Entity
+@Table(name = "amount_stats", uniqueConstraints = @UniqueConstraint(
+        name = "uk_amount_stats", columnNames = {"category", "transaction_type", "period"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AmountStats {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Category category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 10)
+    private TransactionType transactionType;
+    
+    // Premier jour du mois
+    @Column(nullable = false)
+    private LocalDate period;
+    
+    @Column(name = "value_count", nullable = false)
+    private Long valueCount;
+    
+    @Column(name = "value_sum", nullable = false, precision = 19, scale = 2)
+    private BigDecimal valueSum;
+    
+    // Encodés par AmountSketch / AmountHistogram
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] sketch;
+    
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] histogram;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
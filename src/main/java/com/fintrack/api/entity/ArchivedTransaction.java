@@ -0,0 +1,83 @@
+package com.fintrack.api.entity;
+
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Transaction d'une période close déplacée dans transactions_archive (lecture seule)
+@Entity
+@Table(name = "transactions_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTransaction {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Category category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionStatus status;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDate transactionDate;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User createdBy;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "validated_by", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User validatedBy;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "finalized_by", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private User finalizedBy;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+    
+    // Vue détachée en Transaction pour réutiliser le mapping des réponses
+    public Transaction toTransaction() {
+        return Transaction.builder()
+                .id(id)
+                .amount(amount)
+                .transactionType(transactionType)
+                .category(category)
+                .status(status)
+                .description(description)
+                .transactionDate(transactionDate)
+                .createdBy(createdBy)
+                .validatedBy(validatedBy)
+                .finalizedBy(finalizedBy)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -1,10 +1,14 @@
 package com.fintrack.api.entity;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.hibernate.annotations.CreationTimestamp;
 
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -46,6 +50,17 @@ public class AuditLog {
     @Column(columnDefinition = "TEXT")
     private String details;
     
+    // Différences encodées par AuditChangesCodec
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] changes;
+    
+    // Champs modifiés, indexés pour l'historique par champ
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "audit_log_fields", joinColumns = @JoinColumn(name = "audit_log_id"))
+    @Column(name = "field_name", length = 64)
+    @Builder.Default
+    private Set<String> changedFields = new HashSet<>();
+    
     @Column(name = "ip_address", length = 45)
     private String ipAddress;
     
@@ -0,0 +1,96 @@
+package com.fintrack.api.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.fintrack.api.enums.ExportFormat;
+import com.fintrack.api.enums.ExportStatus;
+import com.fintrack.api.enums.ExportType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "export_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "export_type", nullable = false, length = 30)
+    private ExportType exportType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ExportFormat format;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ExportStatus status = ExportStatus.EN_ATTENTE;
+    
+    // Incrémenté à chaque prise du travail
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempt = 0;
+    
+    @Column(name = "rows_total")
+    private Long rowsTotal;
+    
+    @Column(name = "rows_written", nullable = false)
+    @Builder.Default
+    private Long rowsWritten = 0L;
+    
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+    
+    @Column(name = "file_size")
+    private Long fileSize;
+    
+    // Adresse interne de l'instance dont le disque porte le fichier
+    @Column(name = "node_url", length = 200)
+    private String nodeUrl;
+    
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
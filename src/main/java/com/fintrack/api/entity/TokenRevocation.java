@@ -0,0 +1,47 @@
+package com.fintrack.api.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Révocation de tous les jetons d'un utilisateur émis au plus tard à notBefore (epoch ms)
+    @Column(length = 255)
+    private String subject;
+    
+    @Column(name = "not_before")
+    private Long notBefore;
+    
+    // Révocation d'un seul jeton (claim jti)
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+    
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,7 @@
 package com.fintrack.api.entity;
 
 import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
 import com.fintrack.api.enums.TransactionStatus;
 import com.fintrack.api.enums.TransactionType;
 import jakarta.persistence.*;
@@ -57,6 +58,19 @@ public class Transaction {
     @JoinColumn(name = "finalized_by")
     private User finalizedBy;
     
+    // Réservation temporaire par un valideur (file d'approbation)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "claimed_by")
+    private User claimedBy;
+    
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+    
+    // Rôle du créateur à la création : fenêtres de plafond sur lesquelles la transaction est imputée
+    @Enumerated(EnumType.STRING)
+    @Column(name = "limit_role", updatable = false)
+    private Role limitRole;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,7 @@
+package com.fintrack.api.enums;
+
+public enum BulkUserStatus {
+    CREE,
+    EMAIL_EXISTANT,
+    DOUBLON
+}
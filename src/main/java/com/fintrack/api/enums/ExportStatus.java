@@ -0,0 +1,8 @@
+package com.fintrack.api.enums;
+
+public enum ExportStatus {
+    EN_ATTENTE,
+    EN_COURS,
+    TERMINE,
+    ECHEC
+}
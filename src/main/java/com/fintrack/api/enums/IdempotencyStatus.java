@@ -0,0 +1,6 @@
+package com.fintrack.api.enums;
+
+public enum IdempotencyStatus {
+    EN_COURS,
+    TERMINEE
+}
@@ -0,0 +1,25 @@
+package com.fintrack.api.event;
+
+import com.fintrack.api.dto.TransactionResponse;
+
+/**
+ * Publié par TransactionService à chaque écriture sur une transaction.
+ * before est null pour une création, after et response sont null pour une suppression.
+ */
+public record TransactionChangedEvent(
+        TransactionSnapshot before,
+        TransactionSnapshot after,
+        TransactionResponse response) {
+
+    public Long transactionId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public boolean isCreation() {
+        return before == null;
+    }
+
+    public boolean isDeletion() {
+        return after == null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.fintrack.api.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+
+/**
+ * Copie légère des champs d'une transaction, capturée avant ou après une écriture.
+ */
+public record TransactionSnapshot(
+        Long id,
+        BigDecimal amount,
+        TransactionType transactionType,
+        Category category,
+        TransactionStatus status,
+        LocalDate transactionDate,
+        Long createdById) {
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                transaction.getAmount(),
+                transaction.getTransactionType(),
+                transaction.getCategory(),
+                transaction.getStatus(),
+                transaction.getTransactionDate(),
+                transaction.getCreatedBy() != null ? transaction.getCreatedBy().getId() : null);
+    }
+}
@@ -0,0 +1,73 @@
+package com.fintrack.api.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV séparé par des points-virgules (Excel en locale française), UTF-8 avec BOM.
+ */
+class CsvExportWriter implements ExportWriter {
+    
+    private static final char SEPARATOR = ';';
+    
+    private final Writer writer;
+    
+    CsvExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+    
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        writer.write('\uFEFF');
+        writeRow(columns.toArray());
+    }
+    
+    @Override
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writeValue(values[i]);
+        }
+        writer.write("\r\n");
+    }
+    
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal amount) {
+            writer.write(amount.toPlainString());
+            return;
+        }
+        if (value instanceof Number || value instanceof Enum<?>) {
+            writer.write(value.toString());
+            return;
+        }
+        
+        String text = value.toString();
+        // Un libellé commençant par = + - @ serait interprété comme une formule par le tableur
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(SEPARATOR) >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.fintrack.api.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.fintrack.api.enums.ExportFormat;
+
+/**
+ * Écriture ligne à ligne d'un export : rien n'est conservé en mémoire au-delà
+ * du tampon du format.
+ */
+public interface ExportWriter extends Closeable {
+    
+    void writeHeader(List<String> columns) throws IOException;
+    
+    // Valeurs : String, nombres, LocalDate, LocalDateTime ou null
+    void writeRow(Object... values) throws IOException;
+    
+    static ExportWriter open(ExportFormat format, OutputStream out) {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(out);
+            case XLSX -> new XlsxExportWriter(out);
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.fintrack.api.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * XLSX en streaming (SXSSF) : seules les dernières lignes restent en mémoire,
+ * les autres sont vidées dans des fichiers temporaires compressés.
+ * Une nouvelle feuille est ouverte quand la limite de lignes d'Excel est atteinte.
+ */
+class XlsxExportWriter implements ExportWriter {
+    
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle dateStyle;
+    private final CellStyle dateTimeStyle;
+    private final CellStyle amountStyle;
+    
+    private List<String> columns;
+    private SXSSFSheet sheet;
+    private int rowIndex;
+    
+    XlsxExportWriter(OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        short dateFormat = workbook.createDataFormat().getFormat("yyyy-mm-dd");
+        short dateTimeFormat = workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+        short amountFormat = workbook.createDataFormat().getFormat("#,##0.00");
+        this.dateStyle = style(dateFormat);
+        this.dateTimeStyle = style(dateTimeFormat);
+        this.amountStyle = style(amountFormat);
+    }
+    
+    @Override
+    public void writeHeader(List<String> columns) {
+        this.columns = columns;
+        newSheet();
+    }
+    
+    @Override
+    public void writeRow(Object... values) {
+        if (rowIndex >= MAX_ROWS) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof BigDecimal amount) {
+                cell.setCellValue(amount.doubleValue());
+                cell.setCellStyle(amountStyle);
+            } else if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else if (value instanceof LocalDate date) {
+                cell.setCellValue(date);
+                cell.setCellStyle(dateStyle);
+            } else if (value instanceof LocalDateTime dateTime) {
+                cell.setCellValue(dateTime);
+                cell.setCellStyle(dateTimeStyle);
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+    
+    private void newSheet() {
+        sheet = workbook.createSheet("Export " + (workbook.getNumberOfSheets() + 1));
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < columns.size(); i++) {
+            header.createCell(i).setCellValue(columns.get(i));
+        }
+        rowIndex = 1;
+    }
+    
+    private CellStyle style(short dataFormat) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(dataFormat);
+        return style;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+            out.close();
+        } finally {
+            // close() supprime aussi les fichiers temporaires de SXSSF (dispose() est dépréciée)
+            workbook.close();
+        }
+    }
+}
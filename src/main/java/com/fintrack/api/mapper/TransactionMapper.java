@@ -9,6 +9,7 @@ import com.fintrack.api.dto.TransactionUpdateRequest;
 import com.fintrack.api.entity.Transaction;
 import com.fintrack.api.entity.User;
 import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.metrics.RequestTiming;
 
 @Component
 public class TransactionMapper {
@@ -29,20 +30,25 @@ public class TransactionMapper {
     }
     
     public TransactionResponse toResponse(Transaction transaction) {
-        TransactionResponse response = modelMapper.map(transaction, TransactionResponse.class);
-        
-        // Mapper les relations utilisateur
-        if (transaction.getCreatedBy() != null) {
-            response.setCreatedBy(userMapper.toResponse(transaction.getCreatedBy()));
+        long timingStart = RequestTiming.start();
+        try {
+            TransactionResponse response = modelMapper.map(transaction, TransactionResponse.class);
+            
+            // Mapper les relations utilisateur
+            if (transaction.getCreatedBy() != null) {
+                response.setCreatedBy(userMapper.toResponse(transaction.getCreatedBy()));
+            }
+            if (transaction.getValidatedBy() != null) {
+                response.setValidatedBy(userMapper.toResponse(transaction.getValidatedBy()));
+            }
+            if (transaction.getFinalizedBy() != null) {
+                response.setFinalizedBy(userMapper.toResponse(transaction.getFinalizedBy()));
+            }
+            
+            return response;
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.MAPPING, timingStart);
         }
-        if (transaction.getValidatedBy() != null) {
-            response.setValidatedBy(userMapper.toResponse(transaction.getValidatedBy()));
-        }
-        if (transaction.getFinalizedBy() != null) {
-            response.setFinalizedBy(userMapper.toResponse(transaction.getFinalizedBy()));
-        }
-        
-        return response;
     }
     
     public void updateEntityFromRequest(TransactionUpdateRequest request, Transaction transaction) {
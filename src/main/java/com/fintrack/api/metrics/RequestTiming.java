@@ -0,0 +1,134 @@
+package com.fintrack.api.metrics;
+
+import java.util.Locale;
+
+/**
+ * Découpage du temps d'une requête HTTP par phase (JWT, recherche utilisateur, SQL, mapping, sérialisation).
+ * Actif uniquement sur le thread d'une requête ouverte par {@link RequestTimingFilter} : hors requête
+ * tracée, start() renvoie 0 et stop() ne fait rien, le coût se limite à une lecture de ThreadLocal.
+ * Les phases peuvent se chevaucher (le SQL d'une recherche utilisateur compte aussi dans "user").
+ */
+public final class RequestTiming {
+    
+    public enum Phase {
+        JWT("jwt"),
+        USER("user"),
+        DB("db"),
+        MAPPING("map"),
+        SERIALIZATION("ser");
+        
+        private final String metricName;
+        
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+        
+        public String metricName() {
+            return metricName;
+        }
+    }
+    
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+    
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[PHASES.length];
+    private long statements;
+    private long bodyWriteStartNanos;
+    
+    private RequestTiming() {
+    }
+    
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Début d'une mesure : 0 si la requête courante n'est pas tracée.
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0 : System.nanoTime();
+    }
+    
+    public static void stop(Phase phase, long startNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && startNanos != 0) {
+            timing.phaseNanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+    
+    // Appelé par SqlStatementCounter à la fin de chaque exécution JDBC (Hibernate ou JdbcTemplate)
+    static void statementExecuted(long startNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null && startNanos != 0) {
+            timing.phaseNanos[Phase.DB.ordinal()] += System.nanoTime() - startNanos;
+            timing.statements++;
+        }
+    }
+    
+    void markBodyWrite() {
+        bodyWriteStartNanos = System.nanoTime();
+    }
+    
+    // La sérialisation court de l'écriture du corps jusqu'au retour du contrôleur dans le filtre
+    void finish() {
+        if (bodyWriteStartNanos != 0) {
+            phaseNanos[Phase.SERIALIZATION.ordinal()] = System.nanoTime() - bodyWriteStartNanos;
+        }
+    }
+    
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+    
+    long phaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+    
+    long statements() {
+        return statements;
+    }
+    
+    /**
+     * Valeur de l'en-tête Server-Timing : phases mesurées jusqu'ici, nombre de requêtes SQL
+     * dans la description de "db" et durée écoulée depuis le début de la requête ("app").
+     * Descriptions en ASCII, les valeurs d'en-tête n'étant pas garanties au-delà.
+     */
+    String serverTimingHeader() {
+        StringBuilder header = new StringBuilder(256);
+        for (Phase phase : PHASES) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos == 0 && phase != Phase.DB) {
+                continue;
+            }
+            append(header, phase.metricName, phase == Phase.DB ? "sql=" + statements : null, nanos);
+        }
+        append(header, "app", null, elapsedNanos());
+        return header.toString();
+    }
+    
+    private static void append(StringBuilder header, String name, String description, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name);
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+        header.append(";dur=").append(millis(nanos));
+    }
+    
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
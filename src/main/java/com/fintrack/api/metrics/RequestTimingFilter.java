@@ -0,0 +1,82 @@
+package com.fintrack.api.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Traçage par requête (fintrack.timing.enabled) : en-tête Server-Timing et journal des requêtes lentes.
+ * Placé avant la chaîne Spring Security pour inclure l'authentification JWT.
+ * L'en-tête est posé juste avant l'écriture du corps ({@link ServerTimingResponseAdvice}) : la
+ * sérialisation n'y figure pas, elle est en revanche mesurée dans le journal des requêtes lentes.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestTimingFilter extends OncePerRequestFilter {
+    
+    static final String SERVER_TIMING = "Server-Timing";
+    
+    private final boolean enabled;
+    private final long slowRequestNanos;
+    
+    public RequestTimingFilter(
+            @Value("${fintrack.timing.enabled:false}") boolean enabled,
+            @Value("${fintrack.timing.slow-request-ms:1000}") long slowRequestMs) {
+        this.enabled = enabled;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMs);
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.end();
+            timing.finish();
+            // Réponses sans corps converti (204, erreurs écrites par les filtres) : en-tête posé ici
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, timing.serverTimingHeader());
+            }
+            long elapsed = timing.elapsedNanos();
+            if (elapsed >= slowRequestNanos) {
+                logSlowRequest(request, response, timing, elapsed);
+            }
+        }
+    }
+    
+    private void logSlowRequest(HttpServletRequest request, HttpServletResponse response,
+                                RequestTiming timing, long elapsed) {
+        log.atWarn()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("status", response.getStatus())
+                .addKeyValue("duration_ms", RequestTiming.millis(elapsed))
+                .addKeyValue("jwt_ms", RequestTiming.millis(timing.phaseNanos(RequestTiming.Phase.JWT)))
+                .addKeyValue("user_ms", RequestTiming.millis(timing.phaseNanos(RequestTiming.Phase.USER)))
+                .addKeyValue("db_ms", RequestTiming.millis(timing.phaseNanos(RequestTiming.Phase.DB)))
+                .addKeyValue("db_statements", timing.statements())
+                .addKeyValue("mapping_ms", RequestTiming.millis(timing.phaseNanos(RequestTiming.Phase.MAPPING)))
+                .addKeyValue("serialization_ms", RequestTiming.millis(timing.phaseNanos(RequestTiming.Phase.SERIALIZATION)))
+                .log("Requête lente {} {} ({} ms) : {}", request.getMethod(), request.getRequestURI(),
+                        RequestTiming.millis(elapsed), timing.serverTimingHeader());
+    }
+}
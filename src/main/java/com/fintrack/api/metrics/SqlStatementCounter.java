@@ -0,0 +1,98 @@
+package com.fintrack.api.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Compte et chronomètre les exécutions JDBC du thread courant, au niveau de la DataSource :
+ * Hibernate, JdbcTemplate et requêtes natives passent tous par là. Alimente le nombre de requêtes
+ * par requête HTTP et la phase "db" de {@link RequestTiming}. Un lot JDBC compte pour une exécution.
+ * Enveloppe la DataSource de l'application (voir SqlMetricsConfig).
+ */
+public class SqlStatementCounter extends DelegatingDataSource {
+    
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    
+    public SqlStatementCounter(DataSource target) {
+        super(target);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+    
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+    
+    public static long current() {
+        return COUNT.get()[0];
+    }
+    
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(SqlStatementCounter.class.getClassLoader(),
+                new Class<?>[] {type}, new CountingHandler(target)));
+    }
+    
+    // Seules les requêtes sont enveloppées : les résultats n'ont rien à mesurer
+    private static Object wrapStatement(Object result) {
+        if (result instanceof CallableStatement statement) {
+            return wrap(CallableStatement.class, statement);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return wrap(PreparedStatement.class, statement);
+        }
+        if (result instanceof Statement statement) {
+            return wrap(Statement.class, statement);
+        }
+        return result;
+    }
+    
+    private record CountingHandler(Object target) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (target instanceof Statement && name.startsWith("execute")) {
+                COUNT.get()[0]++;
+                long start = RequestTiming.start();
+                try {
+                    return invokeTarget(method, args);
+                } finally {
+                    RequestTiming.statementExecuted(start);
+                }
+            }
+            Object result = invokeTarget(method, args);
+            if (target instanceof Connection && (name.equals("createStatement")
+                    || name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                return wrapStatement(result);
+            }
+            return result;
+        }
+        
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
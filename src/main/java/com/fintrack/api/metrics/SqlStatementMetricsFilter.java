@@ -0,0 +1,40 @@
+package com.fintrack.api.metrics;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Enregistre le nombre de requêtes SQL exécutées par requête HTTP.
+ */
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    
+    private final DistributionSummary statementsPerRequest;
+    
+    public SqlStatementMetricsFilter(MeterRegistry registry) {
+        this.statementsPerRequest = DistributionSummary.builder("fintrack.http.sql.statements")
+                .description("Requêtes SQL exécutées par requête HTTP")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statementsPerRequest.record(SqlStatementCounter.current());
+        }
+    }
+}
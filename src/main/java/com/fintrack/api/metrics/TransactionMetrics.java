@@ -0,0 +1,89 @@
+package com.fintrack.api.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.event.TransactionChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métriques du service transactions. Tous les compteurs et timers sont créés au
+ * démarrage : l'enregistrement sur le chemin chaud n'alloue rien.
+ */
+@Component
+public class TransactionMetrics {
+    
+    public enum Operation {
+        CREATE, GET_BY_ID, GET_BATCH, LIST_ALL, LIST_BY_STATUS, LIST_BY_TYPE, LIST_BY_CATEGORY,
+        LIST_BY_DATE_RANGE, LIST_MINE, UPDATE, DELETE, VALIDATE, FINALIZE, REJECT
+    }
+    
+    private static final String NONE = "NONE";
+    private static final String DELETED = "DELETED";
+    
+    private final Timer[] operationTimers;
+    private final Counter[][] transitions;
+    private final Timer auditWriteTimer;
+    
+    public TransactionMetrics(MeterRegistry registry) {
+        Operation[] operations = Operation.values();
+        operationTimers = new Timer[operations.length];
+        for (Operation operation : operations) {
+            operationTimers[operation.ordinal()] = Timer.builder("fintrack.service")
+                    .description("Latence des méthodes de TransactionService")
+                    .tag("service", "TransactionService")
+                    .tag("operation", operation.name())
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        
+        // Index 0 : aucun statut (création ou suppression), puis un index par statut
+        TransactionStatus[] statuses = TransactionStatus.values();
+        transitions = new Counter[statuses.length + 1][statuses.length + 1];
+        for (int from = 0; from <= statuses.length; from++) {
+            for (int to = 0; to <= statuses.length; to++) {
+                if (from == 0 && to == 0) {
+                    continue;
+                }
+                transitions[from][to] = Counter.builder("fintrack.transactions.transitions")
+                        .description("Transitions de statut des transactions")
+                        .tag("from", from == 0 ? NONE : statuses[from - 1].name())
+                        .tag("to", to == 0 ? DELETED : statuses[to - 1].name())
+                        .register(registry);
+            }
+        }
+        
+        auditWriteTimer = Timer.builder("fintrack.audit.write")
+                .description("Latence d'écriture du journal d'audit")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+    
+    public void record(Operation operation, long startNanos) {
+        operationTimers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordAuditWrite(long startNanos) {
+        auditWriteTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    // Seules les transitions effectivement commitées sont comptées
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        TransactionStatus from = event.isCreation() ? null : event.before().status();
+        TransactionStatus to = event.isDeletion() ? null : event.after().status();
+        if (from != to || from == null) {
+            transitions[index(from)][index(to)].increment();
+        }
+    }
+    
+    private static int index(TransactionStatus status) {
+        return status == null ? 0 : status.ordinal() + 1;
+    }
+}
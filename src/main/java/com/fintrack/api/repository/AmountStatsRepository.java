@@ -0,0 +1,48 @@
+package com.fintrack.api.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fintrack.api.entity.AmountStats;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionType;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface AmountStatsRepository extends JpaRepository<AmountStats, Long> {
+    
+    // Fusion d'un delta : la ligne est verrouillée le temps de la lecture-modification-écriture
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AmountStats s WHERE s.category = :category " +
+           "AND s.transactionType = :type AND s.period = :period")
+    Optional<AmountStats> findForUpdate(
+        @Param("category") Category category,
+        @Param("type") TransactionType type,
+        @Param("period") LocalDate period
+    );
+    
+    // Filtres optionnels : null = toutes les catégories / tous les types
+    @Query("SELECT s FROM AmountStats s WHERE s.period BETWEEN :from AND :to " +
+           "AND (:category IS NULL OR s.category = :category) " +
+           "AND (:type IS NULL OR s.transactionType = :type) " +
+           "ORDER BY s.period, s.category, s.transactionType")
+    List<AmountStats> findInRange(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("category") Category category,
+        @Param("type") TransactionType type
+    );
+    
+    @Modifying
+    @Query("DELETE FROM AmountStats s")
+    int deleteAllStats();
+}
@@ -0,0 +1,88 @@
+package com.fintrack.api.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fintrack.api.entity.ArchivedTransaction;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+    
+    // Listes mappées en réponse : utilisateurs liés chargés dans la même requête (pas de N+1)
+    @Override
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    List<ArchivedTransaction> findAll();
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    List<ArchivedTransaction> findByStatus(TransactionStatus status);
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    List<ArchivedTransaction> findByTransactionType(TransactionType type);
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    List<ArchivedTransaction> findByCategory(Category category);
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    List<ArchivedTransaction> findByCreatedById(Long userId);
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    List<ArchivedTransaction> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
+    
+    long countByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
+    
+    @Query("SELECT a FROM ArchivedTransaction a JOIN FETCH a.createdBy LEFT JOIN FETCH a.validatedBy " +
+           "LEFT JOIN FETCH a.finalizedBy WHERE a.transactionDate BETWEEN :startDate AND :endDate " +
+           "AND a.id > :afterId ORDER BY a.id")
+    List<ArchivedTransaction> findExportPage(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query("SELECT a FROM ArchivedTransaction a JOIN FETCH a.createdBy " +
+           "LEFT JOIN FETCH a.validatedBy LEFT JOIN FETCH a.finalizedBy WHERE a.id IN :ids")
+    List<ArchivedTransaction> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+    
+    boolean existsByCreatedById(Long userId);
+    
+    @Modifying
+    @Query("UPDATE ArchivedTransaction a SET a.validatedBy = null WHERE a.validatedBy.id = :userId")
+    int clearValidatedBy(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE ArchivedTransaction a SET a.finalizedBy = null WHERE a.finalizedBy.id = :userId")
+    int clearFinalizedBy(@Param("userId") Long userId);
+    
+    @Query("SELECT MAX(a.transactionDate) FROM ArchivedTransaction a")
+    LocalDate findLatestArchivedDate();
+    
+    // Copie un lot de transactions closes ; le filtre sur la date limite la lecture
+    // aux partitions antérieures à l'horizon d'archivage
+    @Modifying
+    @Query(value = "INSERT INTO transactions_archive (id, amount, transaction_type, category, status, " +
+                   "description, transaction_date, created_by, validated_by, finalized_by, " +
+                   "created_at, updated_at, archived_at) " +
+                   "SELECT id, amount, transaction_type, category, status, description, transaction_date, " +
+                   "created_by, validated_by, finalized_by, created_at, updated_at, :now " +
+                   "FROM transactions WHERE id IN (:ids) AND transaction_date < :horizon",
+           nativeQuery = true)
+    int copyFromTransactions(
+        @Param("ids") List<Long> ids,
+        @Param("horizon") LocalDate horizon,
+        @Param("now") LocalDateTime now
+    );
+}
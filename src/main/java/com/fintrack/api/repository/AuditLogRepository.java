@@ -3,7 +3,10 @@ package com.fintrack.api.repository;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.fintrack.api.entity.AuditLog;
@@ -20,4 +23,29 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
     List<AuditLog> findTop100ByOrderByCreatedAtDesc();
+    
+    long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    @Query("SELECT a FROM AuditLog a LEFT JOIN FETCH a.user " +
+           "WHERE a.createdAt >= :startDate AND a.createdAt < :endDate AND a.id > :afterId ORDER BY a.id")
+    List<AuditLog> findExportPage(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    @Query("SELECT a FROM AuditLog a LEFT JOIN FETCH a.user " +
+           "WHERE a.entityType = :entityType AND a.entityId = :entityId ORDER BY a.id DESC")
+    List<AuditLog> findHistory(@Param("entityType") String entityType, @Param("entityId") Long entityId, Pageable pageable);
+    
+    // Parcours de l'index (field_name, audit_log_id), du plus récent au plus ancien
+    @Query("SELECT a FROM AuditLog a JOIN a.changedFields f LEFT JOIN FETCH a.user " +
+           "WHERE f = :field AND a.entityType = :entityType ORDER BY a.id DESC")
+    List<AuditLog> findByChangedField(@Param("entityType") String entityType, @Param("field") String field, Pageable pageable);
+    
+    @Query("SELECT a FROM AuditLog a JOIN a.changedFields f LEFT JOIN FETCH a.user " +
+           "WHERE f = :field AND a.entityType = :entityType AND a.entityId = :entityId ORDER BY a.id DESC")
+    List<AuditLog> findByChangedField(@Param("entityType") String entityType, @Param("entityId") Long entityId,
+                                      @Param("field") String field, Pageable pageable);
 }
@@ -0,0 +1,89 @@
+package com.fintrack.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fintrack.api.entity.ExportJob;
+import com.fintrack.api.enums.ExportStatus;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, Long> {
+    
+    List<ExportJob> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+    
+    long countByUserIdAndStatusIn(Long userId, Collection<ExportStatus> statuses);
+    
+    List<ExportJob> findByStatusOrderByIdAsc(ExportStatus status, Pageable pageable);
+    
+    // Prise d'un travail : une seule instance gagne la mise à jour conditionnelle, et seulement
+    // si l'utilisateur a moins de maxRunning travaux EN_COURS sur l'ensemble des instances.
+    // Le numéro de tentative sert ensuite de jeton pour toutes ses écritures.
+    // Table dérivée : MySQL refuse une sous-requête directe sur la table mise à jour
+    @Modifying
+    @Query(value = "UPDATE export_jobs SET status = 'EN_COURS', attempt = :attempt, started_at = :now, " +
+                   "heartbeat_at = :now, rows_written = 0 " +
+                   "WHERE id = :id AND status = 'EN_ATTENTE' AND attempt = :attempt - 1 " +
+                   "AND (SELECT running FROM (SELECT COUNT(*) AS running FROM export_jobs " +
+                   "WHERE user_id = :userId AND status = 'EN_COURS') r) < :maxRunning",
+           nativeQuery = true)
+    int claim(
+        @Param("id") Long id,
+        @Param("userId") Long userId,
+        @Param("attempt") int attempt,
+        @Param("maxRunning") int maxRunning,
+        @Param("now") LocalDateTime now
+    );
+    
+    // 0 si le travail a été repris par une autre tentative ou supprimé
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.rowsWritten = :rowsWritten, j.rowsTotal = :rowsTotal, j.heartbeatAt = :now " +
+           "WHERE j.id = :id AND j.status = 'EN_COURS' AND j.attempt = :attempt")
+    int heartbeat(
+        @Param("id") Long id,
+        @Param("attempt") int attempt,
+        @Param("rowsWritten") long rowsWritten,
+        @Param("rowsTotal") Long rowsTotal,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = 'TERMINE', j.rowsWritten = :rowsWritten, j.filePath = :filePath, " +
+           "j.fileSize = :fileSize, j.nodeUrl = :nodeUrl, j.finishedAt = :now " +
+           "WHERE j.id = :id AND j.status = 'EN_COURS' AND j.attempt = :attempt")
+    int complete(
+        @Param("id") Long id,
+        @Param("attempt") int attempt,
+        @Param("rowsWritten") long rowsWritten,
+        @Param("filePath") String filePath,
+        @Param("fileSize") long fileSize,
+        @Param("nodeUrl") String nodeUrl,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = 'ECHEC', j.errorMessage = :message, j.finishedAt = :now " +
+           "WHERE j.id = :id AND j.status = 'EN_COURS' AND j.attempt = :attempt")
+    int fail(
+        @Param("id") Long id,
+        @Param("attempt") int attempt,
+        @Param("message") String message,
+        @Param("now") LocalDateTime now
+    );
+    
+    // Travaux d'une instance arrêtée ou bloquée : remis en file
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.status = 'EN_ATTENTE', j.startedAt = null, j.heartbeatAt = null " +
+           "WHERE j.status = 'EN_COURS' AND j.heartbeatAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore);
+    
+    @Query("SELECT j FROM ExportJob j WHERE j.status IN ('TERMINE', 'ECHEC') AND j.finishedAt < :before")
+    List<ExportJob> findFinishedBefore(@Param("before") LocalDateTime before);
+}
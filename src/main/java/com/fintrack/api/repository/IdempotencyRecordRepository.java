@@ -0,0 +1,48 @@
+package com.fintrack.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fintrack.api.entity.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    Optional<IdempotencyRecord> findByUserEmailAndIdempotencyKey(String userEmail, String idempotencyKey);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    // Résultat enregistré seulement si la réservation appartient toujours à ce détenteur
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'TERMINEE', r.responseBody = :responseBody, " +
+           "r.ownerToken = null, r.leaseUntil = null " +
+           "WHERE r.id = :id AND r.ownerToken = :owner AND r.status = 'EN_COURS'")
+    int complete(@Param("id") Long id, @Param("owner") String owner, @Param("responseBody") String responseBody);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.ownerToken = :owner AND r.status = 'EN_COURS'")
+    int release(@Param("id") Long id, @Param("owner") String owner);
+    
+    // Reprise d'une réservation dont le détenteur n'a pas terminé avant la fin de son bail
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.ownerToken = :owner, r.leaseUntil = :leaseUntil " +
+           "WHERE r.id = :id AND r.status = 'EN_COURS' AND r.leaseUntil < :now")
+    int takeOver(
+        @Param("id") Long id,
+        @Param("owner") String owner,
+        @Param("leaseUntil") LocalDateTime leaseUntil,
+        @Param("now") LocalDateTime now
+    );
+}
@@ -0,0 +1,161 @@
+package com.fintrack.api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.fintrack.api.dto.MonthlyStatistics;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.dto.UserResponse;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lectures non bloquantes des transactions (table active et archive).
+ * Les lignes sont lues par lots (fetch size) au rythme de la demande du client.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTransactionRepository {
+    
+    private static final String TRANSACTION_COLUMNS =
+        "id, amount, transaction_type, category, status, description, transaction_date, " +
+        "created_by, validated_by, finalized_by, %s AS claim_expires_at, created_at, updated_at";
+    
+    private static final String USER_COLUMNS =
+        "%1$s.id AS %1$s_id, %1$s.email AS %1$s_email, %1$s.first_name AS %1$s_first_name, " +
+        "%1$s.last_name AS %1$s_last_name, %1$s.role AS %1$s_role, %1$s.is_active AS %1$s_is_active, " +
+        "%1$s.created_at AS %1$s_created_at, %1$s.updated_at AS %1$s_updated_at";
+    
+    private final DatabaseClient reactiveDatabaseClient;
+    
+    @Value("${fintrack.reactive.fetch-size:256}")
+    private int fetchSize;
+    
+    public Mono<TransactionResponse> findById(Long id) {
+        return select("id = :id", Map.of("id", id)).next();
+    }
+    
+    public Flux<TransactionResponse> findAll() {
+        return select("1 = 1", Map.of());
+    }
+    
+    public Flux<TransactionResponse> findByStatus(TransactionStatus status) {
+        return select("status = :status", Map.of("status", status.name()));
+    }
+    
+    public Flux<TransactionResponse> findByTransactionType(TransactionType type) {
+        return select("transaction_type = :type", Map.of("type", type.name()));
+    }
+    
+    public Flux<TransactionResponse> findByCategory(Category category) {
+        return select("category = :category", Map.of("category", category.name()));
+    }
+    
+    public Flux<TransactionResponse> findByCreatorEmail(String email) {
+        return select("created_by = (SELECT id FROM users WHERE email = :email)", Map.of("email", email));
+    }
+    
+    public Flux<TransactionResponse> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate) {
+        return select("transaction_date BETWEEN :startDate AND :endDate",
+                      Map.of("startDate", startDate, "endDate", endDate));
+    }
+    
+    // Même définition que la vue v_monthly_statistics, bornée par dates
+    public Flux<MonthlyStatistics> monthlyStatistics(LocalDate startDate, LocalDate endDate) {
+        String where = "status IN ('VALIDEE', 'FINALISEE') AND transaction_date BETWEEN :startDate AND :endDate";
+        String sql = "SELECT DATE_FORMAT(transaction_date, '%Y-%m') AS month, COUNT(*) AS total_transactions, " +
+                     "SUM(CASE WHEN transaction_type = 'CREDIT' THEN amount ELSE 0 END) AS total_credits, " +
+                     "SUM(CASE WHEN transaction_type = 'DEBIT' THEN amount ELSE 0 END) AS total_debits " +
+                     "FROM (" + unionSource(where) + ") t " +
+                     "GROUP BY DATE_FORMAT(transaction_date, '%Y-%m') ORDER BY month";
+        
+        return reactiveDatabaseClient.sql(sql)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map((row, metadata) -> {
+                    BigDecimal credits = row.get("total_credits", BigDecimal.class);
+                    BigDecimal debits = row.get("total_debits", BigDecimal.class);
+                    return MonthlyStatistics.builder()
+                            .month(row.get("month", String.class))
+                            .totalTransactions(row.get("total_transactions", Long.class))
+                            .totalCredits(credits)
+                            .totalDebits(debits)
+                            .balance(credits.subtract(debits))
+                            .build();
+                })
+                .all();
+    }
+    
+    private Flux<TransactionResponse> select(String where, Map<String, Object> params) {
+        String sql = "SELECT t.id, t.amount, t.transaction_type, t.category, t.status, t.description, " +
+                     "t.transaction_date, t.claim_expires_at, t.created_at, t.updated_at, " +
+                     USER_COLUMNS.formatted("c") + ", " + USER_COLUMNS.formatted("v") + ", " +
+                     USER_COLUMNS.formatted("f") + " " +
+                     "FROM (" + unionSource(where) + ") t " +
+                     "JOIN users c ON c.id = t.created_by " +
+                     "LEFT JOIN users v ON v.id = t.validated_by " +
+                     "LEFT JOIN users f ON f.id = t.finalized_by";
+        
+        DatabaseClient.GenericExecuteSpec spec = reactiveDatabaseClient.sql(sql)
+                .filter(statement -> statement.fetchSize(fetchSize));
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map((row, metadata) -> toResponse(row)).all();
+    }
+    
+    // Le filtre est appliqué dans chaque branche pour profiter des index des deux tables
+    private String unionSource(String where) {
+        return "SELECT " + TRANSACTION_COLUMNS.formatted("claim_expires_at") + " FROM transactions WHERE " + where +
+               " UNION ALL " +
+               "SELECT " + TRANSACTION_COLUMNS.formatted("NULL") + " FROM transactions_archive WHERE " + where;
+    }
+    
+    private TransactionResponse toResponse(Row row) {
+        return TransactionResponse.builder()
+                .id(row.get("id", Long.class))
+                .amount(row.get("amount", BigDecimal.class))
+                .transactionType(TransactionType.valueOf(row.get("transaction_type", String.class)))
+                .category(Category.valueOf(row.get("category", String.class)))
+                .status(TransactionStatus.valueOf(row.get("status", String.class)))
+                .description(row.get("description", String.class))
+                .transactionDate(row.get("transaction_date", LocalDate.class))
+                .createdBy(toUser(row, "c"))
+                .validatedBy(toUser(row, "v"))
+                .finalizedBy(toUser(row, "f"))
+                .claimExpiresAt(row.get("claim_expires_at", LocalDateTime.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+    
+    private UserResponse toUser(Row row, String alias) {
+        Long id = row.get(alias + "_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        return UserResponse.builder()
+                .id(id)
+                .email(row.get(alias + "_email", String.class))
+                .firstName(row.get(alias + "_first_name", String.class))
+                .lastName(row.get(alias + "_last_name", String.class))
+                .role(Role.valueOf(row.get(alias + "_role", String.class)))
+                .isActive(row.get(alias + "_is_active", Boolean.class))
+                .createdAt(row.get(alias + "_created_at", LocalDateTime.class))
+                .updatedAt(row.get(alias + "_updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -2,31 +2,71 @@ package com.fintrack.api.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.fintrack.api.entity.Transaction;
 import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
 import com.fintrack.api.enums.TransactionStatus;
 import com.fintrack.api.enums.TransactionType;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
+    // Listes mappées en réponse : utilisateurs liés chargés dans la même requête (pas de N+1)
+    @Override
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    List<Transaction> findAll();
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
     List<Transaction> findByStatus(TransactionStatus status);
     
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
     List<Transaction> findByTransactionType(TransactionType type);
     
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
     List<Transaction> findByCategory(Category category);
     
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
     List<Transaction> findByCreatedById(Long userId);
     
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
     List<Transaction> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
     
+    // Lecture groupée : transactions et utilisateurs liés en une seule requête
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.createdBy " +
+           "LEFT JOIN FETCH t.validatedBy LEFT JOIN FETCH t.finalizedBy WHERE t.id IN :ids")
+    List<Transaction> findAllWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Flux de modifications : parcours par clé (updated_at, id) jusqu'à l'horizon,
+    // creatorId null = toutes les transactions
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.createdBy " +
+           "LEFT JOIN FETCH t.validatedBy LEFT JOIN FETCH t.finalizedBy " +
+           "WHERE (:creatorId IS NULL OR t.createdBy.id = :creatorId) " +
+           "AND t.updatedAt < :horizon " +
+           "AND (t.updatedAt > :since OR (t.updatedAt = :since AND t.id > :sinceId)) " +
+           "ORDER BY t.updatedAt, t.id")
+    List<Transaction> findChangedSince(
+        @Param("creatorId") Long creatorId,
+        @Param("since") LocalDateTime since,
+        @Param("sinceId") Long sinceId,
+        @Param("horizon") LocalDateTime horizon,
+        Pageable pageable
+    );
+    
     @Query("SELECT t FROM Transaction t WHERE t.transactionDate BETWEEN :startDate AND :endDate " +
            "AND t.status IN :statuses")
     List<Transaction> findByDateRangeAndStatuses(
@@ -59,4 +99,106 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+    
+    // Verrouille les prochaines transactions libres de la file sans attendre
+    // celles déjà verrouillées par un autre valideur
+    @Query(value = "SELECT * FROM transactions WHERE status = 'EN_ATTENTE' " +
+                   "AND (claimed_by IS NULL OR claim_expires_at < :now) " +
+                   "ORDER BY transaction_date, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Transaction> lockNextUnclaimed(
+        @Param("now") LocalDateTime now,
+        @Param("limit") int limit
+    );
+    
+    @Query("SELECT t FROM Transaction t WHERE t.claimedBy.id = :userId " +
+           "AND t.status = 'EN_ATTENTE' AND t.claimExpiresAt > :now " +
+           "ORDER BY t.transactionDate, t.id")
+    List<Transaction> findActiveClaims(
+        @Param("userId") Long userId,
+        @Param("now") LocalDateTime now
+    );
+    
+    @Modifying
+    @Query("UPDATE Transaction t SET t.claimedBy = null, t.claimExpiresAt = null " +
+           "WHERE t.claimedBy.id = :userId")
+    int releaseClaims(@Param("userId") Long userId);
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    @Query("SELECT t FROM Transaction t WHERE t.claimedBy.id = :userId")
+    List<Transaction> findClaimedBy(@Param("userId") Long userId);
+    
+    @EntityGraph(attributePaths = {"createdBy", "validatedBy", "finalizedBy"})
+    @Query("SELECT t FROM Transaction t WHERE t.claimExpiresAt < :now")
+    List<Transaction> findExpiredClaims(@Param("now") LocalDateTime now);
+    
+    // Transactions closes antérieures à l'horizon d'archivage, par ordre chronologique
+    @Query(value = "SELECT id FROM transactions WHERE status IN ('FINALISEE', 'REJETEE') " +
+                   "AND transaction_date < :horizon ORDER BY transaction_date, id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findArchivableIds(
+        @Param("horizon") LocalDate horizon,
+        @Param("limit") int limit
+    );
+    
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids AND t.transactionDate < :horizon")
+    int deleteArchived(
+        @Param("ids") List<Long> ids,
+        @Param("horizon") LocalDate horizon
+    );
+    
+    boolean existsByCreatedById(Long userId);
+    
+    // Export par pages : curseur sur la clé primaire, chaque page reprend où la précédente s'arrête
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.createdBy LEFT JOIN FETCH t.validatedBy " +
+           "LEFT JOIN FETCH t.finalizedBy WHERE t.transactionDate BETWEEN :startDate AND :endDate " +
+           "AND t.id > :afterId ORDER BY t.id")
+    List<Transaction> findExportPage(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+    
+    long countByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
+    
+    // Confirmation d'un doublon probable : quelques lignes via l'index (transaction_date, amount)
+    @Query("SELECT t FROM Transaction t WHERE t.transactionDate = :date AND t.amount = :amount " +
+           "AND t.transactionType = :type AND t.category = :category AND t.status <> 'REJETEE'")
+    List<Transaction> findDuplicateCandidates(
+        @Param("date") LocalDate date,
+        @Param("amount") BigDecimal amount,
+        @Param("type") TransactionType type,
+        @Param("category") Category category
+    );
+    
+    @Query("SELECT t.amount, t.transactionDate, t.transactionType, t.category, t.description, t.createdAt " +
+           "FROM Transaction t WHERE t.createdAt >= :since AND t.status <> 'REJETEE'")
+    List<Object[]> findFingerprintSourcesSince(@Param("since") LocalDateTime since);
+    
+    // Cumul engagé (hors REJETEE) d'un utilisateur sur une période ; category null = toutes.
+    // Sans flush automatique : les modifications en cours de l'appelant ne sont pas comptées
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.createdBy.id = :userId " +
+           "AND COALESCE(t.limitRole, t.createdBy.role) = :role " +
+           "AND t.transactionType = :type AND (:category IS NULL OR t.category = :category) " +
+           "AND t.status <> 'REJETEE' AND t.transactionDate BETWEEN :startDate AND :endDate")
+    BigDecimal sumCommittedAmount(
+        @Param("userId") Long userId,
+        @Param("role") Role role,
+        @Param("type") TransactionType type,
+        @Param("category") Category category,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    // Équivalent applicatif des ON DELETE SET NULL (absents sur une table partitionnée)
+    @Modifying
+    @Query("UPDATE Transaction t SET t.validatedBy = null WHERE t.validatedBy.id = :userId")
+    int clearValidatedBy(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("UPDATE Transaction t SET t.finalizedBy = null WHERE t.finalizedBy.id = :userId")
+    int clearFinalizedBy(@Param("userId") Long userId);
 }
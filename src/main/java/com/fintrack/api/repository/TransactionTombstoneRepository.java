@@ -0,0 +1,35 @@
+package com.fintrack.api.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fintrack.api.entity.TransactionTombstone;
+
+@Repository
+public interface TransactionTombstoneRepository extends JpaRepository<TransactionTombstone, Long> {
+    
+    // Parcours par clé (deleted_at, id) ; creatorId null = toutes les suppressions
+    @Query("SELECT d FROM TransactionTombstone d " +
+           "WHERE (:creatorId IS NULL OR d.createdById = :creatorId) " +
+           "AND d.deletedAt < :horizon " +
+           "AND (d.deletedAt > :since OR (d.deletedAt = :since AND d.id > :sinceId)) " +
+           "ORDER BY d.deletedAt, d.id")
+    List<TransactionTombstone> findDeletedSince(
+        @Param("creatorId") Long creatorId,
+        @Param("since") LocalDateTime since,
+        @Param("sinceId") Long sinceId,
+        @Param("horizon") LocalDateTime horizon,
+        Pageable pageable
+    );
+    
+    @Modifying
+    @Query("DELETE FROM TransactionTombstone d WHERE d.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -1,9 +1,12 @@
 package com.fintrack.api.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.fintrack.api.entity.User;
@@ -16,4 +19,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     List<User> findByIsActive(Boolean isActive);
     List<User> findByRoleAndIsActive(Role role, Boolean isActive);
+    List<User> findByEmailIn(Collection<String> emails);
+    
+    // Création en masse : conflits d'email vérifiés en une seule requête
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.fintrack.api.security;
 import java.io.IOException;
 import java.util.Collections;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,17 +12,26 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.fintrack.api.dto.ApiResponse;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.metrics.RequestTiming;
+
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
     
     @Override
     protected void doFilterInternal(
@@ -35,13 +46,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
         
+        String authenticatedEmail = null;
+        String authenticatedRole = null;
+        
+        long timingStart = RequestTiming.start();
         try {
             final String jwt = authHeader.substring(7);
-            final String userEmail = jwtUtil.extractEmail(jwt);
-            final String role = jwtUtil.extractRole(jwt);
+            // Signature et expiration vérifiées ici, une seule fois par requête
+            final Claims claims = jwtUtil.parse(jwt);
+            final String userEmail = claims.getSubject();
+            final String role = claims.get("role", String.class);
             
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.validateToken(jwt, userEmail)) {
+                if (!tokenRevocationList.isRevoked(userEmail, claims.getId(), JwtUtil.issuedAtMillis(claims))) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userEmail,
                             null,
@@ -49,12 +66,49 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    authenticatedEmail = userEmail;
+                    authenticatedRole = role;
                 }
             }
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.JWT, timingStart);
+        }
+        
+        // Limitation de débit par utilisateur, une fois l'identité connue
+        if (authenticatedEmail != null && rateLimiter.isEnabled()
+                && !applyRateLimit(request, response, authenticatedEmail, authenticatedRole)) {
+            return;
         }
         
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+    
+    private boolean applyRateLimit(HttpServletRequest request, HttpServletResponse response,
+                                   String userEmail, String role) throws IOException {
+        Role userRole;
+        try {
+            userRole = Role.valueOf(role);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            userRole = null;
+        }
+        
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(userEmail, userRole, RateLimiter.categorize(request));
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        
+        if (decision.allowed()) {
+            return true;
+        }
+        
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(ApiResponse.error(
+                "Trop de requêtes, réessayez dans " + decision.retryAfterSeconds() + " seconde(s)")));
+        return false;
+    }
+}
@@ -4,6 +4,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -16,14 +17,24 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
     
+    // iat est en secondes : l'instant d'émission exact sert à comparer aux révocations
+    public static final String ISSUED_AT_MILLIS = "iat_ms";
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    private volatile Key signingKey;
+    
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            signingKey = key;
+        }
+        return key;
     }
     
     public String generateToken(String email, String role) {
@@ -33,11 +44,14 @@ public class JwtUtil {
     }
     
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
+                .claim(ISSUED_AT_MILLIS, now)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -54,6 +68,21 @@ public class JwtUtil {
         return extractAllClaims(token).getExpiration();
     }
     
+    // Vérifie signature et expiration en une seule analyse du jeton
+    public Claims parse(String token) {
+        return extractAllClaims(token);
+    }
+    
+    // Jetons émis sans iat_ms : début de la seconde de iat, pour ne jamais échapper à une révocation
+    public static Long issuedAtMillis(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS, Long.class);
+        if (millis != null) {
+            return millis;
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : null;
+    }
+    
     private Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
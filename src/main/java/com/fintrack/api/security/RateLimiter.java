@@ -0,0 +1,163 @@
+package com.fintrack.api.security;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.api.config.RateLimitProperties;
+import com.fintrack.api.enums.Role;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Token bucket sans verrou par utilisateur, implémenté en GCRA : chaque seau est un
+ * simple "theoretical arrival time" mis à jour par CAS.
+ */
+@Component
+public class RateLimiter {
+    
+    public enum Category { READ, WRITE, EXPORT }
+    
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+    
+    private final RateLimitProperties properties;
+    private final ConcurrentHashMap<String, Buckets> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+    
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+    
+    public static Category categorize(HttpServletRequest request) {
+        String method = request.getMethod();
+        boolean read = "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+        // Seule la soumission d'un export asynchrone est coûteuse, pas le suivi ni le téléchargement
+        if (request.getRequestURI().contains("/export") && !(read && request.getRequestURI().startsWith("/api/exports"))) {
+            return Category.EXPORT;
+        }
+        return read ? Category.READ : Category.WRITE;
+    }
+    
+    public Decision tryAcquire(String principal, Role role, Category category) {
+        int limit = limitFor(role, category);
+        long now = System.nanoTime();
+        
+        Buckets principalBuckets = buckets.get(principal);
+        if (principalBuckets == null) {
+            if (buckets.size() >= properties.getMaxTrackedPrincipals()) {
+                evictIdle(now);
+            }
+            principalBuckets = buckets.computeIfAbsent(principal, key -> new Buckets());
+        }
+        
+        if (limit <= 0) {
+            return new Decision(false, 0, 0, 0, NANOS_PER_MINUTE);
+        }
+        
+        long interval = NANOS_PER_MINUTE / limit;
+        long tolerance = interval * limit;
+        int index = category.ordinal();
+        AtomicLongArray arrivals = principalBuckets.arrivals;
+        
+        while (true) {
+            long tat = arrivals.get(index);
+            long newTat = Math.max(tat, now) + interval;
+            long backlog = newTat - now;
+            if (backlog > tolerance) {
+                long retryAfter = backlog - tolerance;
+                return new Decision(false, limit, 0, Math.max(tat, now) - now, retryAfter);
+            }
+            if (arrivals.compareAndSet(index, tat, newTat)) {
+                int remaining = (int) ((tolerance - backlog) / interval);
+                return new Decision(true, limit, remaining, backlog, 0);
+            }
+        }
+    }
+    
+    private int limitFor(Role role, Category category) {
+        RateLimitProperties.Quota quota = properties.quotaFor(role);
+        return switch (category) {
+            case READ -> quota.getReadPerMinute();
+            case WRITE -> quota.getWritePerMinute();
+            case EXPORT -> quota.getExportPerMinute();
+        };
+    }
+    
+    // Un seau dont toutes les dates d'arrivée sont passées est plein : le supprimer ne change rien
+    @Scheduled(fixedDelayString = "${fintrack.rate-limit.sweep-ms:60000}")
+    public void sweepIdleBuckets() {
+        evictIdle(System.nanoTime());
+    }
+    
+    private void evictIdle(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            
+            // Toujours trop d'utilisateurs actifs : on en oublie arbitrairement
+            int excess = buckets.size() - properties.getMaxTrackedPrincipals() * 9 / 10;
+            Iterator<String> keys = buckets.keySet().iterator();
+            while (excess-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+    
+    public int getTrackedPrincipals() {
+        return buckets.size();
+    }
+    
+    private static final class Buckets {
+        private final AtomicLongArray arrivals;
+        
+        private Buckets() {
+            long now = System.nanoTime();
+            arrivals = new AtomicLongArray(Category.values().length);
+            for (int i = 0; i < arrivals.length(); i++) {
+                arrivals.set(i, now);
+            }
+        }
+        
+        private boolean isIdle(long now) {
+            for (int i = 0; i < arrivals.length(); i++) {
+                if (arrivals.get(i) - now > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * resetNanos : délai avant que le seau soit de nouveau plein ;
+     * retryAfterNanos : délai avant qu'une requête refusée puisse passer.
+     */
+    public record Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+        
+        public long resetSeconds() {
+            return ceilSeconds(resetNanos);
+        }
+        
+        public long retryAfterSeconds() {
+            return Math.max(1, ceilSeconds(retryAfterNanos));
+        }
+        
+        private static long ceilSeconds(long nanos) {
+            return (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+}
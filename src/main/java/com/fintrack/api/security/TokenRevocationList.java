@@ -0,0 +1,46 @@
+package com.fintrack.api.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Révocations en mémoire consultées à chaque requête authentifiée : deux lectures
+ * de map, sans accès base. Alimentée par TokenRevocationService.
+ */
+@Component
+public class TokenRevocationList {
+    
+    // Utilisateur -> instant d'émission (epoch ms) jusqu'auquel ses jetons sont refusés
+    private final ConcurrentHashMap<String, Long> notBefore = new ConcurrentHashMap<>();
+    // jti -> expiration du jeton (epoch s)
+    private final ConcurrentHashMap<String, Long> deniedTokens = new ConcurrentHashMap<>();
+    
+    // issuedAtMillis : voir JwtUtil.issuedAtMillis ; à la milliseconde, un jeton obtenu juste
+    // après une révocation n'est pas refusé
+    public boolean isRevoked(String subject, String tokenId, Long issuedAtMillis) {
+        Long cutoff = notBefore.get(subject);
+        if (cutoff != null && (issuedAtMillis == null || issuedAtMillis <= cutoff)) {
+            return true;
+        }
+        return tokenId != null && deniedTokens.containsKey(tokenId);
+    }
+    
+    public void revokeSubject(String subject, long cutoffEpochMilli) {
+        notBefore.merge(subject, cutoffEpochMilli, Math::max);
+    }
+    
+    public void denyToken(String tokenId, long expiresAtEpochSecond) {
+        deniedTokens.put(tokenId, expiresAtEpochSecond);
+    }
+    
+    // Une coupure plus ancienne que la durée de vie des jetons ne vise plus aucun jeton valide
+    public void purge(long nowEpochSecond, long tokenLifetimeSeconds) {
+        notBefore.values().removeIf(cutoff -> cutoff + tokenLifetimeSeconds * 1000 <= nowEpochSecond * 1000);
+        deniedTokens.values().removeIf(expiresAt -> expiresAt <= nowEpochSecond);
+    }
+    
+    public int size() {
+        return notBefore.size() + deniedTokens.size();
+    }
+}
@@ -0,0 +1,469 @@
+package com.fintrack.api.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintrack.api.dto.AmountDistributionResponse;
+import com.fintrack.api.dto.AmountHistogramBucket;
+import com.fintrack.api.dto.AmountStatsRebuildResponse;
+import com.fintrack.api.dto.AmountStatsResponse;
+import com.fintrack.api.entity.AmountStats;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.event.TransactionChangedEvent;
+import com.fintrack.api.event.TransactionSnapshot;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ConflictException;
+import com.fintrack.api.repository.AmountStatsRepository;
+import com.fintrack.api.stats.AmountDistribution;
+import com.fintrack.api.stats.AmountHistogram;
+import com.fintrack.api.stats.AmountSketch;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Distributions des montants par catégorie, type et mois (hors REJETEE) : quantiles approchés
+ * et histogramme exact, sans tri SQL à la lecture.
+ * Chaque écriture commitée produit un delta en mémoire (retrait de l'ancien état, ajout du
+ * nouveau) ; les deltas sont fusionnés périodiquement dans amount_stats sous verrou de ligne,
+ * ce qui garde les instances cohérentes. La reconstruction parcourt l'historique mois par mois
+ * en parallèle puis fusionne les résultats partiels ; elle ne tourne que sur une instance à la
+ * fois (verrou GET_LOCK), et aucune instance ne fusionne ses deltas pendant qu'elle tourne.
+ */
+@Slf4j
+@Service
+public class AmountStatsService {
+    
+    private static final List<Double> DEFAULT_QUANTILES = List.of(0.5, 0.9, 0.99);
+    private static final int MAX_QUANTILES = 10;
+    private static final String ERROR_BOUNDS = "Quantiles : à ±1 % près (erreur relative) de la valeur exacte " +
+            "de même rang. Nombre, somme, moyenne et histogramme : exacts. Les écritures des autres instances " +
+            "apparaissent après leur fusion (fintrack.amount-stats.flush-ms).";
+    private static final String REBUILD_LOCK = "fintrack.amount-stats";
+    private static final String SCAN = "SELECT category, transaction_type, amount FROM %s " +
+            "WHERE transaction_date >= ? AND transaction_date < ? AND status <> 'REJETEE'";
+    
+    private final AmountStatsRepository amountStatsRepository;
+    private final DatabaseLockService databaseLockService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final boolean rebuildOnStartup;
+    private final int maxMonths;
+    private final ExecutorService rebuildPool;
+    
+    private final ConcurrentHashMap<Key, AmountDistribution> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Reconstruction en cours sur une autre instance, déjà constatée par flush
+    private volatile boolean remoteRebuild;
+    
+    public AmountStatsService(
+            AmountStatsRepository amountStatsRepository,
+            DatabaseLockService databaseLockService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${fintrack.amount-stats.enabled:true}") boolean enabled,
+            @Value("${fintrack.amount-stats.rebuild-on-startup:true}") boolean rebuildOnStartup,
+            @Value("${fintrack.amount-stats.max-months:120}") int maxMonths,
+            @Value("${fintrack.amount-stats.rebuild-threads:2}") int rebuildThreads,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maxPoolSize) {
+        this.amountStatsRepository = amountStatsRepository;
+        this.databaseLockService = databaseLockService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.maxMonths = maxMonths;
+        // Chaque thread tient une connexion pendant son mois : on en laisse au moins deux,
+        // une pour le verrou de reconstruction et une pour le trafic des requêtes
+        int threads = Math.max(1, Math.min(rebuildThreads, maxPoolSize - 2));
+        this.rebuildPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "amount-stats-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    // Seules les écritures commitées sont comptées
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        TransactionSnapshot before = counted(event.before()) ? event.before() : null;
+        TransactionSnapshot after = counted(event.after()) ? event.after() : null;
+        // Changement de statut sans effet sur la distribution (EN_ATTENTE -> VALIDEE...)
+        if (before != null && after != null && Key.of(before).equals(Key.of(after))
+                && before.amount().compareTo(after.amount()) == 0) {
+            return;
+        }
+        if (before != null) {
+            record(before, -1);
+        }
+        if (after != null) {
+            record(after, 1);
+        }
+    }
+    
+    private static boolean counted(TransactionSnapshot snapshot) {
+        return snapshot != null && snapshot.status() != TransactionStatus.REJETEE;
+    }
+    
+    private void record(TransactionSnapshot snapshot, int sign) {
+        pending.compute(Key.of(snapshot), (key, delta) -> {
+            AmountDistribution distribution = delta != null ? delta : new AmountDistribution();
+            distribution.add(snapshot.amount(), sign);
+            return distribution;
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${fintrack.amount-stats.flush-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty() || rebuilding.get()) {
+            return;
+        }
+        if (databaseLockService.isLocked(REBUILD_LOCK)) {
+            // Comme sur l'instance qui reconstruit : les deltas antérieurs à la reconstruction
+            // sont comptés par son parcours, ceux reçus pendant sont fusionnés après
+            if (!remoteRebuild) {
+                remoteRebuild = true;
+                pending.clear();
+            }
+            return;
+        }
+        remoteRebuild = false;
+        for (Key key : List.copyOf(pending.keySet())) {
+            AmountDistribution delta = pending.remove(key);
+            if (delta == null || delta.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> mergeInto(key, delta));
+            } catch (RuntimeException e) {
+                // Nouvel essai au prochain cycle (ex. ligne créée en parallèle par une autre instance)
+                pending.merge(key, delta, (current, restored) -> {
+                    current.merge(restored);
+                    return current;
+                });
+                log.warn("Fusion des statistiques de montants impossible pour {} : {}", key, e.getMessage());
+            }
+        }
+    }
+    
+    private void mergeInto(Key key, AmountDistribution delta) {
+        AmountStats row = amountStatsRepository.findForUpdate(key.category(), key.type(), key.period())
+                .orElseGet(() -> AmountStats.builder()
+                        .category(key.category())
+                        .transactionType(key.type())
+                        .period(key.period())
+                        .valueCount(0L)
+                        .valueSum(BigDecimal.ZERO)
+                        .build());
+        AmountDistribution merged = toDistribution(row);
+        merged.merge(delta);
+        write(row, merged);
+        amountStatsRepository.save(row);
+    }
+    
+    public AmountStatsResponse getStats(YearMonth from, YearMonth to, Category category, TransactionType type,
+                                        List<Double> quantiles) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("Le mois de fin doit être postérieur au mois de début");
+        }
+        if (from.plusMonths(maxMonths).isBefore(to)) {
+            throw new BadRequestException("La période ne peut pas dépasser " + maxMonths + " mois");
+        }
+        List<Double> requested = quantiles == null || quantiles.isEmpty() ? DEFAULT_QUANTILES : quantiles;
+        if (requested.size() > MAX_QUANTILES || requested.stream().anyMatch(q -> q == null || q < 0 || q > 1)) {
+            throw new BadRequestException("Au plus " + MAX_QUANTILES + " quantiles, compris entre 0 et 1");
+        }
+        
+        LocalDate start = from.atDay(1);
+        LocalDate end = to.atDay(1);
+        Map<Key, AmountDistribution> groups = new HashMap<>();
+        for (AmountStats row : amountStatsRepository.findInRange(start, end, category, type)) {
+            groups.put(new Key(row.getCategory(), row.getTransactionType(), row.getPeriod()), toDistribution(row));
+        }
+        // Écritures locales pas encore fusionnées : copiées sous le verrou de leur clé
+        for (Key key : pending.keySet()) {
+            if (key.matches(start, end, category, type)) {
+                pending.computeIfPresent(key, (k, delta) -> {
+                    groups.computeIfAbsent(k, absent -> new AmountDistribution()).merge(delta);
+                    return delta;
+                });
+            }
+        }
+        
+        AmountDistribution total = new AmountDistribution();
+        List<AmountDistributionResponse> responses = new ArrayList<>(groups.size());
+        groups.entrySet().stream()
+                .filter(entry -> entry.getValue().count() > 0)
+                .sorted(Map.Entry.comparingByKey(Key.ORDER))
+                .forEach(entry -> {
+                    total.merge(entry.getValue());
+                    responses.add(toResponse(entry.getKey(), entry.getValue(), requested));
+                });
+        
+        return AmountStatsResponse.builder()
+                .from(from)
+                .to(to)
+                .quantileRelativeError(AmountSketch.RELATIVE_ACCURACY)
+                .errorBounds(ERROR_BOUNDS)
+                .groups(responses)
+                .total(toResponse(null, total, requested))
+                .build();
+    }
+    
+    /**
+     * Recalcule toutes les distributions depuis transactions et transactions_archive.
+     * Les deltas en attente sont abandonnés sur toutes les instances : une écriture commitée
+     * pendant le parcours peut être comptée deux fois ou pas du tout, à lancer de préférence
+     * hors activité.
+     */
+    public AmountStatsRebuildResponse rebuild() {
+        AmountStatsRebuildResponse response = rebuildExclusively(false);
+        if (response == null) {
+            throw new ConflictException("Une reconstruction des statistiques de montants est déjà en cours");
+        }
+        return response;
+    }
+    
+    // null si une reconstruction tourne déjà, ici ou ailleurs, ou si onlyIfEmpty et la table est remplie
+    private AmountStatsRebuildResponse rebuildExclusively(boolean onlyIfEmpty) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            AtomicReference<AmountStatsRebuildResponse> response = new AtomicReference<>();
+            databaseLockService.runExclusively(REBUILD_LOCK, () -> {
+                if (!onlyIfEmpty || amountStatsRepository.count() == 0) {
+                    response.set(scanAll());
+                }
+            });
+            return response.get();
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+    
+    private AmountStatsRebuildResponse scanAll() {
+        long start = System.nanoTime();
+        pending.clear();
+        List<YearMonth> months = monthsWithTransactions();
+        
+        List<CompletableFuture<Map<Key, AmountDistribution>>> scans = months.stream()
+                .map(month -> CompletableFuture.supplyAsync(() -> scanMonth(month), rebuildPool))
+                .toList();
+        Map<Key, AmountDistribution> distributions = new HashMap<>();
+        try {
+            for (CompletableFuture<Map<Key, AmountDistribution>> scan : scans) {
+                scan.join().forEach((key, distribution) -> distributions.merge(key, distribution, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                }));
+            }
+        } catch (CompletionException e) {
+            scans.forEach(scan -> scan.cancel(false));
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        
+        List<AmountStats> rows = new ArrayList<>(distributions.size());
+        long transactions = 0;
+        for (Map.Entry<Key, AmountDistribution> entry : distributions.entrySet()) {
+            Key key = entry.getKey();
+            AmountStats row = AmountStats.builder()
+                    .category(key.category())
+                    .transactionType(key.type())
+                    .period(key.period())
+                    .build();
+            write(row, entry.getValue());
+            rows.add(row);
+            transactions += entry.getValue().count();
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            amountStatsRepository.deleteAllStats();
+            amountStatsRepository.saveAll(rows);
+        });
+        
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Statistiques de montants reconstruites : {} mois, {} groupe(s), {} transaction(s) en {} ms",
+                months.size(), rows.size(), transactions, durationMs);
+        return AmountStatsRebuildResponse.builder()
+                .months(months.size())
+                .groups(rows.size())
+                .transactions(transactions)
+                .durationMs(durationMs)
+                .build();
+    }
+    
+    // Base existante sans statistiques (première mise en service) : reconstruction en arrière-plan,
+    // par la première instance qui prend le verrou ; le vide est revérifié sous verrou
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (!enabled || !rebuildOnStartup || amountStatsRepository.count() > 0) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuildExclusively(true);
+            } catch (RuntimeException e) {
+                log.error("Reconstruction initiale des statistiques de montants impossible", e);
+            }
+        }, "amount-stats-initial-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private List<YearMonth> monthsWithTransactions() {
+        LocalDate first = null;
+        LocalDate last = null;
+        for (String table : List.of("transactions", "transactions_archive")) {
+            Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                    "SELECT MIN(transaction_date) AS first_date, MAX(transaction_date) AS last_date FROM " + table);
+            LocalDate tableFirst = toLocalDate(bounds.get("first_date"));
+            LocalDate tableLast = toLocalDate(bounds.get("last_date"));
+            if (tableFirst != null && (first == null || tableFirst.isBefore(first))) {
+                first = tableFirst;
+            }
+            if (tableLast != null && (last == null || tableLast.isAfter(last))) {
+                last = tableLast;
+            }
+        }
+        List<YearMonth> months = new ArrayList<>();
+        if (first == null) {
+            return months;
+        }
+        YearMonth lastMonth = YearMonth.from(last);
+        for (YearMonth month = YearMonth.from(first); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+    
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return value instanceof LocalDate date ? date : null;
+    }
+    
+    // Un mois, tables vivante et archive : toutes les clés produites portent ce mois
+    private Map<Key, AmountDistribution> scanMonth(YearMonth month) {
+        Map<Key, AmountDistribution> distributions = new HashMap<>();
+        LocalDate start = month.atDay(1);
+        for (String table : List.of("transactions", "transactions_archive")) {
+            jdbcTemplate.query(String.format(SCAN, table), resultSet -> {
+                Key key = new Key(Category.valueOf(resultSet.getString(1)),
+                        TransactionType.valueOf(resultSet.getString(2)), start);
+                distributions.computeIfAbsent(key, k -> new AmountDistribution()).add(resultSet.getBigDecimal(3), 1);
+            }, start, start.plusMonths(1));
+        }
+        return distributions;
+    }
+    
+    private static AmountDistribution toDistribution(AmountStats row) {
+        return new AmountDistribution(row.getValueCount(), row.getValueSum(),
+                AmountSketch.decode(row.getSketch()), AmountHistogram.decode(row.getHistogram()));
+    }
+    
+    private static void write(AmountStats row, AmountDistribution distribution) {
+        row.setValueCount(distribution.count());
+        row.setValueSum(distribution.sum());
+        row.setSketch(distribution.sketch().encode());
+        row.setHistogram(distribution.histogram().encode());
+    }
+    
+    private static AmountDistributionResponse toResponse(Key key, AmountDistribution distribution,
+                                                         List<Double> quantiles) {
+        long count = distribution.count();
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        for (double q : quantiles) {
+            double value = distribution.sketch().quantile(q);
+            values.put(quantileName(q), Double.isNaN(value)
+                    ? null
+                    : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP));
+        }
+        AmountHistogram histogram = distribution.histogram();
+        List<AmountHistogramBucket> buckets = new ArrayList<>(histogram.size());
+        for (int i = 0; i < histogram.size(); i++) {
+            buckets.add(AmountHistogramBucket.builder()
+                    .lowerBound(histogram.lowerBound(i))
+                    .upperBound(histogram.upperBound(i))
+                    .count(histogram.count(i))
+                    .build());
+        }
+        return AmountDistributionResponse.builder()
+                .category(key != null ? key.category() : null)
+                .transactionType(key != null ? key.type() : null)
+                .month(key != null ? YearMonth.from(key.period()) : null)
+                .count(count)
+                .sum(distribution.sum())
+                .mean(count > 0 ? distribution.sum().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : null)
+                .quantiles(values)
+                .histogram(buckets)
+                .build();
+    }
+    
+    // 0.5 -> p50, 0.99 -> p99, 0.999 -> p99.9
+    private static String quantileName(double q) {
+        return "p" + BigDecimal.valueOf(q * 100).stripTrailingZeros().toPlainString();
+    }
+    
+    // Les deltas non fusionnés seraient perdus à l'arrêt
+    @PreDestroy
+    public void shutdown() {
+        rebuildPool.shutdownNow();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Fusion des statistiques de montants impossible à l'arrêt : {}", e.getMessage());
+        }
+    }
+    
+    record Key(Category category, TransactionType type, LocalDate period) {
+        
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::period)
+                .thenComparing(Key::category)
+                .thenComparing(Key::type);
+        
+        static Key of(TransactionSnapshot snapshot) {
+            return new Key(snapshot.category(), snapshot.transactionType(),
+                    snapshot.transactionDate().withDayOfMonth(1));
+        }
+        
+        boolean matches(LocalDate from, LocalDate to, Category category, TransactionType type) {
+            return !period.isBefore(from) && !period.isAfter(to)
+                    && (category == null || this.category == category)
+                    && (type == null || this.type == type);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.fintrack.api.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.event.TransactionChangedEvent;
+import com.fintrack.api.event.TransactionSnapshot;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ResourceNotFoundException;
+import com.fintrack.api.exception.UnauthorizedException;
+import com.fintrack.api.mapper.TransactionMapper;
+import com.fintrack.api.repository.TransactionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * File d'approbation partagée entre valideurs : chaque valideur réserve un lot
+ * de transactions EN_ATTENTE pour une durée limitée (bail).
+ * Réserver ou libérer modifie la ligne (updated_at) : l'événement de modification est publié
+ * comme pour toute écriture, pour que caches, flux SSE et flux de synchronisation restent alignés.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApprovalQueueService {
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${fintrack.approval-queue.lease-seconds:300}")
+    private long leaseSeconds;
+    
+    @Value("${fintrack.approval-queue.max-claim:50}")
+    private int maxClaim;
+    
+    @Transactional
+    public List<TransactionResponse> claimNext(int limit, String userEmail) {
+        User reviewer = findReviewer(userEmail);
+        
+        if (limit <= 0 || limit > maxClaim) {
+            throw new BadRequestException("Le nombre de transactions à réserver doit être entre 1 et " + maxClaim);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(leaseSeconds);
+        
+        // Les lignes verrouillées par un autre valideur sont ignorées (SKIP LOCKED)
+        List<Transaction> claimed = transactionRepository.lockNextUnclaimed(now, limit);
+        if (claimed.isEmpty()) {
+            return List.of();
+        }
+        // La requête native ne charge pas les utilisateurs liés : une relecture en JOIN FETCH
+        // initialise ceux des entités déjà gérées au lieu d'une requête par ligne au mapping
+        transactionRepository.findAllWithUsersByIdIn(claimed.stream().map(Transaction::getId).toList());
+        
+        List<TransactionResponse> responses = new ArrayList<>(claimed.size());
+        for (Transaction transaction : claimed) {
+            transaction.setClaimedBy(reviewer);
+            transaction.setClaimExpiresAt(expiresAt);
+            responses.add(publishChange(transaction));
+        }
+        return responses;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getMyClaims(String userEmail) {
+        User reviewer = findReviewer(userEmail);
+        return transactionRepository.findActiveClaims(reviewer.getId(), LocalDateTime.now())
+                .stream()
+                .map(transactionMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional
+    public void releaseClaim(Long transactionId, String userEmail) {
+        User reviewer = findReviewer(userEmail);
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction non trouvée avec l'ID: " + transactionId));
+        
+        if (transaction.getClaimedBy() == null) {
+            return;
+        }
+        if (!transaction.getClaimedBy().getId().equals(reviewer.getId()) && reviewer.getRole() != Role.ADMIN) {
+            throw new UnauthorizedException("Cette transaction est réservée par un autre valideur");
+        }
+        
+        release(transaction);
+    }
+    
+    @Transactional
+    public int releaseMyClaims(String userEmail) {
+        User reviewer = findReviewer(userEmail);
+        List<Transaction> claims = transactionRepository.findClaimedBy(reviewer.getId());
+        claims.forEach(this::release);
+        return claims.size();
+    }
+    
+    // Libère les baux expirés pour garder la file propre ; une réservation expirée
+    // est de toute façon reprenable par claimNext
+    @Scheduled(fixedDelayString = "${fintrack.approval-queue.cleanup-ms:60000}")
+    @Transactional
+    public void releaseExpiredClaims() {
+        List<Transaction> expired = transactionRepository.findExpiredClaims(LocalDateTime.now());
+        expired.forEach(this::release);
+        if (!expired.isEmpty()) {
+            log.info("{} réservation(s) expirée(s) libérée(s)", expired.size());
+        }
+    }
+    
+    private void release(Transaction transaction) {
+        transaction.setClaimedBy(null);
+        transaction.setClaimExpiresAt(null);
+        publishChange(transaction);
+    }
+    
+    // Le bail ne figure pas dans le snapshot : avant et après sont identiques,
+    // seuls la réponse et updated_at changent
+    private TransactionResponse publishChange(Transaction transaction) {
+        TransactionSnapshot snapshot = TransactionSnapshot.of(transaction);
+        TransactionResponse response = transactionMapper.toResponse(transaction);
+        eventPublisher.publishEvent(new TransactionChangedEvent(snapshot, snapshot, response));
+        return response;
+    }
+    
+    private User findReviewer(String userEmail) {
+        User reviewer = userService.findByEmail(userEmail);
+        if (reviewer.getRole() != Role.MANAGER && reviewer.getRole() != Role.ADMIN) {
+            throw new UnauthorizedException("Seul un MANAGER ou ADMIN peut utiliser la file d'approbation");
+        }
+        return reviewer;
+    }
+}
@@ -0,0 +1,113 @@
+package com.fintrack.api.service;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fintrack.api.dto.FieldChange;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Encodage de la colonne audit_logs.changes : un octet de format suivi d'un tableau JSON
+ * [[champ, avant, après], ...], compressé (deflate) au-delà d'un seuil.
+ */
+@Component
+public class AuditChangesCodec {
+    
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+    
+    private final ObjectMapper objectMapper;
+    private final int compressMinBytes;
+    
+    public AuditChangesCodec(
+            ObjectMapper objectMapper,
+            @Value("${fintrack.audit.compress-min-bytes:512}") int compressMinBytes) {
+        this.objectMapper = objectMapper;
+        this.compressMinBytes = compressMinBytes;
+    }
+    
+    public byte[] encode(List<FieldChange> changes) {
+        String[][] rows = new String[changes.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            FieldChange change = changes.get(i);
+            rows[i] = new String[] { change.getField(), change.getBefore(), change.getAfter() };
+        }
+        byte[] json = objectMapper.writeValueAsBytes(rows);
+        
+        if (compressMinBytes > 0 && json.length >= compressMinBytes) {
+            byte[] compressed = deflate(json);
+            if (compressed.length < json.length) {
+                return withFormat(DEFLATE, compressed);
+            }
+        }
+        return withFormat(RAW, json);
+    }
+    
+    public List<FieldChange> decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            return List.of();
+        }
+        byte[] payload = Arrays.copyOfRange(encoded, 1, encoded.length);
+        byte[] json = encoded[0] == DEFLATE ? inflate(payload) : payload;
+        
+        String[][] rows = objectMapper.readValue(json, String[][].class);
+        List<FieldChange> changes = new ArrayList<>(rows.length);
+        for (String[] row : rows) {
+            changes.add(new FieldChange(row[0], row[1], row[2]));
+        }
+        return changes;
+    }
+    
+    private static byte[] withFormat(byte format, byte[] payload) {
+        byte[] encoded = new byte[payload.length + 1];
+        encoded[0] = format;
+        System.arraycopy(payload, 0, encoded, 1, payload.length);
+        return encoded;
+    }
+    
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Différences d'audit compressées tronquées");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Différences d'audit illisibles", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package com.fintrack.api.service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fintrack.api.dto.AuditLogResponse;
+import com.fintrack.api.dto.FieldChange;
 import com.fintrack.api.entity.AuditLog;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.metrics.TransactionMetrics;
 import com.fintrack.api.repository.AuditLogRepository;
 import com.fintrack.api.repository.UserRepository;
 
@@ -17,9 +31,30 @@ public class AuditService {
     
     private final AuditLogRepository auditLogRepository;
     private final UserRepository userRepository;
+    private final TransactionMetrics transactionMetrics;
+    private final AuditChangesCodec auditChangesCodec;
+    
+    @Value("${fintrack.audit.max-page-size:500}")
+    private int maxPageSize;
     
     @Transactional
     public void log(Long userId, String action, String entityType, Long entityId, String details) {
+        save(userId, action, entityType, entityId, details, List.of());
+    }
+    
+    /**
+     * Journalise uniquement les champs dont la valeur diffère entre les deux états
+     * (voir stateOf) ; aucun texte libre n'est stocké.
+     */
+    @Transactional
+    public void logChanges(Long userId, String action, String entityType, Long entityId,
+                           Map<String, Object> before, Map<String, Object> after) {
+        save(userId, action, entityType, entityId, null, diff(before, after));
+    }
+    
+    private void save(Long userId, String action, String entityType, Long entityId, String details,
+                      List<FieldChange> changes) {
+        long start = System.nanoTime();
         AuditLog auditLog = AuditLog.builder()
                 .action(action)
                 .entityType(entityType)
@@ -27,11 +62,68 @@ public class AuditService {
                 .details(details)
                 .build();
         
+        if (!changes.isEmpty()) {
+            auditLog.setChanges(auditChangesCodec.encode(changes));
+            changes.forEach(change -> auditLog.getChangedFields().add(change.getField()));
+        }
+        
         if (userId != null) {
             userRepository.findById(userId).ifPresent(auditLog::setUser);
         }
         
         auditLogRepository.save(auditLog);
+        transactionMetrics.recordAuditWrite(start);
+    }
+    
+    // Champs audités d'une transaction, dans l'ordre d'affichage
+    public static Map<String, Object> stateOf(Transaction transaction) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("amount", transaction.getAmount());
+        state.put("transactionType", transaction.getTransactionType());
+        state.put("category", transaction.getCategory());
+        state.put("status", transaction.getStatus());
+        state.put("description", transaction.getDescription());
+        state.put("transactionDate", transaction.getTransactionDate());
+        state.put("validatedById", transaction.getValidatedBy() != null ? transaction.getValidatedBy().getId() : null);
+        state.put("finalizedById", transaction.getFinalizedBy() != null ? transaction.getFinalizedBy().getId() : null);
+        return state;
+    }
+    
+    public static Map<String, Object> stateOf(User user) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("email", user.getEmail());
+        state.put("firstName", user.getFirstName());
+        state.put("lastName", user.getLastName());
+        state.put("role", user.getRole());
+        state.put("isActive", user.getIsActive());
+        return state;
+    }
+    
+    private static List<FieldChange> diff(Map<String, Object> before, Map<String, Object> after) {
+        List<FieldChange> changes = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : after.entrySet()) {
+            Object previous = before.get(entry.getKey());
+            Object current = entry.getValue();
+            if (!sameValue(previous, current)) {
+                changes.add(new FieldChange(entry.getKey(), text(previous), text(current)));
+            }
+        }
+        return changes;
+    }
+    
+    // 10.5 et 10.50 sont le même montant
+    private static boolean sameValue(Object previous, Object current) {
+        if (previous instanceof BigDecimal a && current instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(previous, current);
+    }
+    
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof BigDecimal amount ? amount.toPlainString() : value.toString();
     }
     
     @Transactional(readOnly = true)
@@ -48,4 +140,46 @@ public class AuditService {
     public List<AuditLog> getRecentAudits() {
         return auditLogRepository.findTop100ByOrderByCreatedAtDesc();
     }
+    
+    @Transactional(readOnly = true)
+    public List<AuditLogResponse> getHistory(String entityType, Long entityId, int limit) {
+        return toResponses(auditLogRepository.findHistory(entityType, entityId, page(limit)));
+    }
+    
+    // Historique d'un champ : entityId facultatif
+    @Transactional(readOnly = true)
+    public List<AuditLogResponse> getFieldHistory(String entityType, Long entityId, String field, int limit) {
+        List<AuditLog> logs = entityId == null
+                ? auditLogRepository.findByChangedField(entityType, field, page(limit))
+                : auditLogRepository.findByChangedField(entityType, entityId, field, page(limit));
+        return toResponses(logs);
+    }
+    
+    private PageRequest page(int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new BadRequestException("La limite doit être comprise entre 1 et " + maxPageSize);
+        }
+        return PageRequest.of(0, limit);
+    }
+    
+    private List<AuditLogResponse> toResponses(List<AuditLog> logs) {
+        return logs.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+    
+    private AuditLogResponse toResponse(AuditLog auditLog) {
+        User user = auditLog.getUser();
+        return AuditLogResponse.builder()
+                .id(auditLog.getId())
+                .userId(user != null ? user.getId() : null)
+                .userEmail(user != null ? user.getEmail() : null)
+                .action(auditLog.getAction())
+                .entityType(auditLog.getEntityType())
+                .entityId(auditLog.getEntityId())
+                .details(auditLog.getDetails())
+                .changes(auditChangesCodec.decode(auditLog.getChanges()))
+                .createdAt(auditLog.getCreatedAt())
+                .build();
+    }
 }
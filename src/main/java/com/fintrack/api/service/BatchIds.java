@@ -0,0 +1,32 @@
+package com.fintrack.api.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.fintrack.api.exception.BadRequestException;
+
+// Identifiants d'une lecture groupée : doublons retirés, ordre de première occurrence conservé
+final class BatchIds {
+    
+    private BatchIds() {
+    }
+    
+    static Set<Long> distinct(List<Long> ids, int max) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Au moins un identifiant est requis");
+        }
+        
+        Set<Long> unique = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (Objects.nonNull(id)) {
+                unique.add(id);
+            }
+        }
+        if (unique.isEmpty() || unique.size() > max) {
+            throw new BadRequestException("Le nombre d'identifiants doit être entre 1 et " + max);
+        }
+        return unique;
+    }
+}
@@ -0,0 +1,68 @@
+package com.fintrack.api.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verrous nommés MySQL (GET_LOCK) : une tâche planifiée lancée par toutes les instances
+ * ne s'exécute que sur une seule à la fois. Le verrou appartient à la session :
+ * une connexion reste réservée pendant toute la tâche, et un arrêt brutal le libère.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DatabaseLockService {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Exécute la tâche si le verrou est libre, sans attendre ; renvoie false s'il est déjà pris.
+     */
+    public boolean runExclusively(String name, Runnable task) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!acquire(connection, name)) {
+                log.debug("Verrou {} déjà pris par une autre instance", name);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                release(connection, name);
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+    
+    /**
+     * Vrai si une session, sur n'importe quelle instance, détient le verrou.
+     */
+    public boolean isLocked(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT IS_USED_LOCK(?) IS NOT NULL", Boolean.class, name));
+    }
+    
+    private static boolean acquire(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getInt(1) == 1;
+            }
+        }
+    }
+    
+    private static void release(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, name);
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.fintrack.api.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintrack.api.dto.ExportJobResponse;
+import com.fintrack.api.dto.ExportRequest;
+import com.fintrack.api.dto.FieldChange;
+import com.fintrack.api.entity.ArchivedTransaction;
+import com.fintrack.api.entity.AuditLog;
+import com.fintrack.api.entity.ExportJob;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.enums.ExportStatus;
+import com.fintrack.api.enums.ExportType;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ConflictException;
+import com.fintrack.api.exception.ResourceNotFoundException;
+import com.fintrack.api.exception.UnauthorizedException;
+import com.fintrack.api.export.ExportWriter;
+import com.fintrack.api.repository.ArchivedTransactionRepository;
+import com.fintrack.api.repository.AuditLogRepository;
+import com.fintrack.api.repository.ExportJobRepository;
+import com.fintrack.api.repository.TransactionRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports asynchrones : la demande crée une ligne export_jobs, un pool borné de
+ * travailleurs écrit le fichier sur disque page par page, le client suit
+ * l'avancement puis télécharge le fichier.
+ * Les travaux d'une instance arrêtée sont repris quand leur bail expire.
+ *
+ * Le fichier reste sur le disque de l'instance qui l'a écrit (node_url) : un
+ * téléchargement reçu par une autre instance lui est relayé, et seule cette
+ * instance le purge.
+ */
+@Slf4j
+@Service
+public class ExportJobService {
+    
+    private static final List<ExportStatus> ACTIVE = List.of(ExportStatus.EN_ATTENTE, ExportStatus.EN_COURS);
+    private static final int DISPATCH_BATCH = 50;
+    private static final int RECENT_JOBS = 50;
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private static final List<String> TRANSACTION_COLUMNS = List.of("ID", "Date", "Type", "Catégorie", "Montant",
+            "Statut", "Description", "Créée par", "Validée par", "Finalisée par", "Créée le");
+    private static final List<String> AUDIT_COLUMNS = List.of("ID", "Date", "Utilisateur", "Action", "Entité",
+            "ID entité", "Détails", "Modifications");
+    
+    private final ExportJobRepository exportJobRepository;
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final AuditChangesCodec auditChangesCodec;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    
+    private final Path directory;
+    private final String nodeUrl;
+    private final int workers;
+    private final int maxActivePerUser;
+    private final int maxRunningPerUser;
+    private final int pageSize;
+    private final long leaseSeconds;
+    private final long retentionHours;
+    private final long maxRangeDays;
+    
+    private final ExecutorService pool;
+    private final AtomicInteger busy = new AtomicInteger();
+    
+    public ExportJobService(
+            ExportJobRepository exportJobRepository,
+            TransactionRepository transactionRepository,
+            ArchivedTransactionRepository archivedTransactionRepository,
+            AuditLogRepository auditLogRepository,
+            AuditChangesCodec auditChangesCodec,
+            UserService userService,
+            PlatformTransactionManager transactionManager,
+            @Value("${fintrack.export.directory:${java.io.tmpdir}/fintrack-exports}") String directory,
+            @Value("${fintrack.export.node-url:}") String nodeUrl,
+            @Value("${server.port:8080}") int serverPort,
+            @Value("${fintrack.export.workers:2}") int workers,
+            @Value("${fintrack.export.max-active-per-user:5}") int maxActivePerUser,
+            @Value("${fintrack.export.max-running-per-user:1}") int maxRunningPerUser,
+            @Value("${fintrack.export.page-size:1000}") int pageSize,
+            @Value("${fintrack.export.lease-seconds:120}") long leaseSeconds,
+            @Value("${fintrack.export.retention-hours:24}") long retentionHours,
+            @Value("${fintrack.export.max-range-days:1100}") long maxRangeDays) {
+        this.exportJobRepository = exportJobRepository;
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.auditChangesCodec = auditChangesCodec;
+        this.userService = userService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.directory = Paths.get(directory);
+        this.nodeUrl = nodeUrl.isBlank() ? defaultNodeUrl(serverPort) : nodeUrl.replaceAll("/+$", "");
+        this.workers = workers;
+        this.maxActivePerUser = maxActivePerUser;
+        this.maxRunningPerUser = maxRunningPerUser;
+        this.pageSize = pageSize;
+        this.leaseSeconds = leaseSeconds;
+        this.retentionHours = retentionHours;
+        this.maxRangeDays = maxRangeDays;
+        this.pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "export-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Répertoire d'export inaccessible : " + directory, e);
+        }
+    }
+    
+    @Transactional
+    public ExportJobResponse submit(ExportRequest request, String userEmail) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BadRequestException("La date de fin doit être postérieure à la date de début");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= maxRangeDays) {
+            throw new BadRequestException("La période d'export ne peut pas dépasser " + maxRangeDays + " jours");
+        }
+        
+        User user = userService.findByEmail(userEmail);
+        if (request.getExportType() == ExportType.AUDIT_LOGS && user.getRole() == Role.COMPTABLE) {
+            throw new UnauthorizedException("Seul un MANAGER ou ADMIN peut exporter le journal d'audit");
+        }
+        if (exportJobRepository.countByUserIdAndStatusIn(user.getId(), ACTIVE) >= maxActivePerUser) {
+            throw new ConflictException("Trop d'exports en cours, réessayez quand les précédents seront terminés");
+        }
+        
+        ExportJob job = exportJobRepository.save(ExportJob.builder()
+                .userId(user.getId())
+                .exportType(request.getExportType())
+                .format(request.getFormat())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .build());
+        return toResponse(job);
+    }
+    
+    @Transactional(readOnly = true)
+    public ExportJobResponse getJob(Long id, String userEmail) {
+        return toResponse(findOwnedJob(id, userEmail));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<ExportJobResponse> getMyJobs(String userEmail) {
+        User user = userService.findByEmail(userEmail);
+        return exportJobRepository.findByUserIdOrderByIdDesc(user.getId(), PageRequest.of(0, RECENT_JOBS))
+                .stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+    
+    // forwarded : demande déjà relayée par une autre instance, jamais relayée à nouveau
+    @Transactional(readOnly = true)
+    public ExportFile getFile(Long id, String userEmail, boolean forwarded) {
+        ExportJob job = findOwnedJob(id, userEmail);
+        if (job.getStatus() != ExportStatus.TERMINE) {
+            throw new BadRequestException("L'export n'est pas terminé (statut " + job.getStatus() + ")");
+        }
+        String fileName = "fintrack-" + job.getExportType().name().toLowerCase().replace('_', '-') + "-"
+                + job.getStartDate() + "_" + job.getEndDate() + "." + job.getFormat().extension();
+        if (!isLocal(job)) {
+            if (forwarded) {
+                throw new ResourceNotFoundException("Le fichier de l'export #" + id + " a expiré");
+            }
+            return new ExportFile(null, job.getNodeUrl() + "/api/exports/" + id + "/file", fileName,
+                    job.getFormat().contentType(), job.getFileSize());
+        }
+        Path path = Paths.get(job.getFilePath());
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Le fichier de l'export #" + id + " a expiré");
+        }
+        return new ExportFile(path, null, fileName, job.getFormat().contentType(), job.getFileSize());
+    }
+    
+    private ExportJob findOwnedJob(Long id, String userEmail) {
+        ExportJob job = exportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Export non trouvé avec l'ID: " + id));
+        User user = userService.findByEmail(userEmail);
+        if (!job.getUserId().equals(user.getId()) && user.getRole() != Role.ADMIN) {
+            throw new UnauthorizedException("Vous n'êtes pas autorisé à consulter cet export");
+        }
+        return job;
+    }
+    
+    // Attribue les travaux en attente aux travailleurs libres, dans l'ordre de soumission ;
+    // la prise elle-même refuse un travail dont l'utilisateur a déjà assez de travaux EN_COURS
+    @Scheduled(fixedDelayString = "${fintrack.export.poll-ms:2000}")
+    public void dispatch() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusSeconds(leaseSeconds);
+        Integer requeued = transactionTemplate.execute(status -> exportJobRepository.requeueStale(staleBefore));
+        if (requeued != null && requeued > 0) {
+            log.warn("{} export(s) sans nouvelles depuis {} s remis en file", requeued, leaseSeconds);
+        }
+        if (busy.get() >= workers) {
+            return;
+        }
+        
+        for (ExportJob job : exportJobRepository.findByStatusOrderByIdAsc(ExportStatus.EN_ATTENTE, PageRequest.of(0, DISPATCH_BATCH))) {
+            if (busy.get() >= workers) {
+                return;
+            }
+            
+            int attempt = job.getAttempt() + 1;
+            Integer claimed;
+            try {
+                claimed = transactionTemplate.execute(status -> exportJobRepository.claim(job.getId(), job.getUserId(),
+                        attempt, maxRunningPerUser, LocalDateTime.now()));
+            } catch (ConcurrencyFailureException e) {
+                // Prise simultanée d'un travail du même utilisateur par une autre instance : réessayé au prochain passage
+                continue;
+            }
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+            busy.incrementAndGet();
+            pool.execute(() -> {
+                try {
+                    run(job, attempt);
+                } finally {
+                    busy.decrementAndGet();
+                }
+            });
+        }
+    }
+    
+    private void run(ExportJob job, int attempt) {
+        long start = System.nanoTime();
+        String baseName = "export-" + job.getId() + "-" + attempt + "." + job.getFormat().extension();
+        Path target = directory.resolve(baseName);
+        Path part = directory.resolve(baseName + ".part");
+        try {
+            long rows;
+            try (ExportWriter writer = ExportWriter.open(job.getFormat(), new BufferedOutputStream(Files.newOutputStream(part)))) {
+                rows = switch (job.getExportType()) {
+                    case TRANSACTIONS -> writeTransactions(job, attempt, writer);
+                    case AUDIT_LOGS -> writeAuditLogs(job, attempt, writer);
+                };
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            
+            long size = Files.size(target);
+            Integer completed = transactionTemplate.execute(status -> exportJobRepository.complete(job.getId(), attempt,
+                    rows, target.toAbsolutePath().toString(), size, nodeUrl, LocalDateTime.now()));
+            if (completed == null || completed == 0) {
+                Files.deleteIfExists(target);
+                return;
+            }
+            log.info("Export #{} terminé : {} lignes, {} octets en {} ms", job.getId(), rows, size,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (CancellationException e) {
+            log.warn("Export #{} abandonné : repris par une autre tentative", job.getId());
+            deleteQuietly(part);
+        } catch (Exception e) {
+            log.error("Échec de l'export #{}", job.getId(), e);
+            deleteQuietly(part);
+            String message = String.valueOf(e.getMessage());
+            String truncated = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+            transactionTemplate.executeWithoutResult(status -> exportJobRepository.fail(job.getId(), attempt, truncated, LocalDateTime.now()));
+        }
+    }
+    
+    // Transactions en cours puis archivées de la période
+    private long writeTransactions(ExportJob job, int attempt, ExportWriter writer) throws IOException {
+        LocalDate startDate = job.getStartDate();
+        LocalDate endDate = job.getEndDate();
+        Long total = readOnlyTemplate.execute(status -> transactionRepository.countByTransactionDateBetween(startDate, endDate)
+                + archivedTransactionRepository.countByTransactionDateBetween(startDate, endDate));
+        
+        writer.writeHeader(TRANSACTION_COLUMNS);
+        long written = writePages(job, attempt, total, 0, writer,
+                afterId -> transactionRepository.findExportPage(startDate, endDate, afterId, PageRequest.of(0, pageSize)),
+                Transaction::getId, ExportJobService::transactionRow);
+        return writePages(job, attempt, total, written, writer,
+                afterId -> archivedTransactionRepository.findExportPage(startDate, endDate, afterId, PageRequest.of(0, pageSize)),
+                ArchivedTransaction::getId, archived -> transactionRow(archived.toTransaction()));
+    }
+    
+    private long writeAuditLogs(ExportJob job, int attempt, ExportWriter writer) throws IOException {
+        LocalDateTime from = job.getStartDate().atStartOfDay();
+        LocalDateTime to = job.getEndDate().plusDays(1).atStartOfDay();
+        Long total = readOnlyTemplate.execute(status -> auditLogRepository.countByCreatedAtBetween(from, to));
+        
+        writer.writeHeader(AUDIT_COLUMNS);
+        return writePages(job, attempt, total, 0, writer,
+                afterId -> auditLogRepository.findExportPage(from, to, afterId, PageRequest.of(0, pageSize)),
+                AuditLog::getId, this::auditRow);
+    }
+    
+    // Curseur sur la clé primaire : chaque page est une courte transaction en lecture seule
+    private <T> long writePages(ExportJob job, int attempt, Long total, long written, ExportWriter writer,
+                                Function<Long, List<T>> pages, Function<T, Long> idOf, Function<T, Object[]> rowOf) throws IOException {
+        long afterId = 0;
+        while (true) {
+            long cursor = afterId;
+            List<T> page = readOnlyTemplate.execute(status -> pages.apply(cursor));
+            for (T item : page) {
+                writer.writeRow(rowOf.apply(item));
+            }
+            written += page.size();
+            heartbeat(job, attempt, written, total);
+            if (page.size() < pageSize) {
+                return written;
+            }
+            afterId = idOf.apply(page.get(page.size() - 1));
+        }
+    }
+    
+    // Avancement et renouvellement du bail ; échoue si une autre tentative a repris le travail
+    private void heartbeat(ExportJob job, int attempt, long written, Long total) {
+        Integer updated = transactionTemplate.execute(status ->
+                exportJobRepository.heartbeat(job.getId(), attempt, written, total, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            throw new CancellationException("Export #" + job.getId() + " repris par une autre tentative");
+        }
+    }
+    
+    // Chaque instance purge ses fichiers ; les travaux d'une instance disparue sont
+    // supprimés après une seconde période de rétention, leur fichier étant perdu avec elle
+    @Scheduled(fixedDelayString = "${fintrack.export.cleanup-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        LocalDateTime abandonedBefore = before.minusHours(retentionHours);
+        int purged = 0;
+        for (ExportJob job : exportJobRepository.findFinishedBefore(before)) {
+            if (!isLocal(job) && job.getFinishedAt().isAfter(abandonedBefore)) {
+                continue;
+            }
+            if (job.getFilePath() != null && isLocal(job)) {
+                deleteQuietly(Paths.get(job.getFilePath()));
+            }
+            exportJobRepository.delete(job);
+            purged++;
+        }
+        if (purged > 0) {
+            log.info("{} export(s) expiré(s) supprimé(s)", purged);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        // Les travaux interrompus restent EN_COURS et seront repris à l'expiration du bail
+        pool.shutdownNow();
+    }
+    
+    private static Object[] transactionRow(Transaction transaction) {
+        return new Object[] {
+                transaction.getId(),
+                transaction.getTransactionDate(),
+                transaction.getTransactionType(),
+                transaction.getCategory(),
+                transaction.getAmount(),
+                transaction.getStatus(),
+                transaction.getDescription(),
+                email(transaction.getCreatedBy()),
+                email(transaction.getValidatedBy()),
+                email(transaction.getFinalizedBy()),
+                transaction.getCreatedAt()
+        };
+    }
+    
+    private Object[] auditRow(AuditLog auditLog) {
+        String changes = auditChangesCodec.decode(auditLog.getChanges())
+                .stream()
+                .map(ExportJobService::describe)
+                .collect(Collectors.joining("; "));
+        return new Object[] {
+                auditLog.getId(),
+                auditLog.getCreatedAt(),
+                email(auditLog.getUser()),
+                auditLog.getAction(),
+                auditLog.getEntityType(),
+                auditLog.getEntityId(),
+                auditLog.getDetails(),
+                changes.isEmpty() ? null : changes
+        };
+    }
+    
+    private static String describe(FieldChange change) {
+        return change.getField() + " : " + change.getBefore() + " → " + change.getAfter();
+    }
+    
+    private static String email(User user) {
+        return user != null ? user.getEmail() : null;
+    }
+    
+    // Travaux sans fichier (ECHEC) ou terminés avant l'ajout de node_url : considérés locaux
+    private boolean isLocal(ExportJob job) {
+        return job.getNodeUrl() == null || job.getNodeUrl().equals(nodeUrl);
+    }
+    
+    private static String defaultNodeUrl(int serverPort) {
+        try {
+            return "http://" + InetAddress.getLocalHost().getHostAddress() + ":" + serverPort;
+        } catch (UnknownHostException e) {
+            return "http://localhost:" + serverPort;
+        }
+    }
+    
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Impossible de supprimer {}", path, e);
+        }
+    }
+    
+    private ExportJobResponse toResponse(ExportJob job) {
+        Integer progress = null;
+        if (job.getStatus() == ExportStatus.TERMINE) {
+            progress = 100;
+        } else if (job.getRowsTotal() != null && job.getRowsTotal() > 0) {
+            progress = (int) Math.min(99, job.getRowsWritten() * 100 / job.getRowsTotal());
+        }
+        return ExportJobResponse.builder()
+                .id(job.getId())
+                .exportType(job.getExportType())
+                .format(job.getFormat())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .status(job.getStatus())
+                .rowsWritten(job.getRowsWritten())
+                .rowsTotal(job.getRowsTotal())
+                .progress(progress)
+                .fileSize(job.getFileSize())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+    
+    // path : fichier local ; remoteUrl : téléchargement à relayer à l'instance propriétaire
+    public record ExportFile(Path path, String remoteUrl, String fileName, String contentType, long size) {
+    }
+}
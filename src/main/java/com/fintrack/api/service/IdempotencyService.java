@@ -0,0 +1,290 @@
+package com.fintrack.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintrack.api.entity.IdempotencyRecord;
+import com.fintrack.api.enums.IdempotencyStatus;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ConflictException;
+import com.fintrack.api.repository.IdempotencyRecordRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Déduplication des requêtes portant un en-tête Idempotency-Key.
+ * Deux niveaux : un LRU borné en mémoire devant la table idempotency_keys.
+ * Les requêtes concurrentes avec la même clé attendent le résultat de la première.
+ * Entre instances, la clé est réservée en base (ligne EN_COURS sous contrainte unique) avant
+ * d'exécuter l'action ; le résultat est écrit dans la même transaction que l'action.
+ * Les autres instances relisent la ligne jusqu'à ce qu'elle soit TERMINEE.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlHours;
+    private final long waitTimeoutMs;
+    private final long leaseMs;
+    private final long pollMs;
+    
+    private final Map<String, StoredResult> recentResults;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResult>> inFlight = new ConcurrentHashMap<>();
+    
+    public IdempotencyService(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${fintrack.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${fintrack.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${fintrack.idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+            @Value("${fintrack.idempotency.lease-ms:60000}") long leaseMs,
+            @Value("${fintrack.idempotency.poll-ms:100}") long pollMs) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttlHours = ttlHours;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.leaseMs = leaseMs;
+        this.pollMs = pollMs;
+        this.recentResults = Collections.synchronizedMap(new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResult> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+    
+    /**
+     * Exécute l'action une seule fois par (utilisateur, clé) ; les rejeux renvoient le résultat stocké.
+     * Sans clé, l'action est simplement exécutée.
+     */
+    public <T> T execute(String key, String userEmail, String scope, Class<T> type, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("L'en-tête Idempotency-Key ne peut pas dépasser " + MAX_KEY_LENGTH + " caractères");
+        }
+        
+        String cacheKey = userEmail + '\n' + key;
+        StoredResult cached = recentResults.get(cacheKey);
+        if (cached != null && !cached.isExpired()) {
+            return cached.valueFor(scope, type);
+        }
+        
+        CompletableFuture<StoredResult> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResult> running = inFlight.putIfAbsent(cacheKey, pending);
+        if (running != null) {
+            // Même clé déjà en cours : on attend son résultat au lieu de réexécuter
+            return await(running).valueFor(scope, type);
+        }
+        
+        try {
+            StoredResult result = runOnce(key, userEmail, scope, type, action);
+            recentResults.put(cacheKey, result);
+            pending.complete(result);
+            return result.valueFor(scope, type);
+        } catch (RuntimeException e) {
+            // Échec : la réservation est retirée, un nouvel essai avec la même clé réexécutera l'action
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, pending);
+        }
+    }
+    
+    /**
+     * Portée d'une requête de création : empreinte SHA-256 de son corps sérialisé,
+     * pour refuser la réutilisation d'une clé avec un autre contenu.
+     */
+    public String scopeOf(String action, Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8));
+            return action + ':' + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+    
+    private <T> StoredResult runOnce(String key, String userEmail, String scope, Class<T> type, Supplier<T> action) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        while (true) {
+            Reservation reservation = reserve(key, userEmail, scope);
+            if (reservation != null) {
+                return runReserved(reservation, scope, type, action);
+            }
+            
+            // Clé déjà réservée, par cette instance ou une autre
+            LocalDateTime now = LocalDateTime.now();
+            IdempotencyRecord existing = idempotencyRecordRepository
+                    .findByUserEmailAndIdempotencyKey(userEmail, key).orElse(null);
+            if (existing != null && existing.getExpiresAt().isBefore(now)) {
+                transactionTemplate.executeWithoutResult(
+                        status -> idempotencyRecordRepository.deleteIfExpired(existing.getId(), now));
+                continue;
+            }
+            if (existing != null) {
+                if (existing.getStatus() == IdempotencyStatus.TERMINEE) {
+                    return new StoredResult(existing.getScope(),
+                            objectMapper.readValue(existing.getResponseBody(), type), existing.getExpiresAt());
+                }
+                if (!existing.getScope().equals(scope)) {
+                    throw new ConflictException("Cette clé d'idempotence a déjà été utilisée pour une autre requête");
+                }
+                // Détenteur disparu (arrêt brutal) : la clé est reprise à la fin de son bail
+                if (existing.getLeaseUntil() != null && existing.getLeaseUntil().isBefore(now)) {
+                    Reservation takenOver = takeOver(existing, now);
+                    if (takenOver != null) {
+                        return runReserved(takenOver, scope, type, action);
+                    }
+                }
+            }
+            // existing == null : le détenteur a échoué entre-temps, nouvelle tentative de réservation
+            if (System.nanoTime() - deadline > 0) {
+                throw new ConflictException("Une requête avec la même clé d'idempotence est toujours en cours");
+            }
+            pause();
+        }
+    }
+    
+    private Reservation reserve(String key, String userEmail, String scope) {
+        LocalDateTime now = LocalDateTime.now();
+        String owner = UUID.randomUUID().toString();
+        IdempotencyRecord record = IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .userEmail(userEmail)
+                .scope(scope)
+                .status(IdempotencyStatus.EN_COURS)
+                .ownerToken(owner)
+                .leaseUntil(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs)))
+                .expiresAt(now.plusHours(ttlHours))
+                .build();
+        try {
+            IdempotencyRecord saved = idempotencyRecordRepository.saveAndFlush(record);
+            return new Reservation(saved.getId(), owner, saved.getExpiresAt());
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+    
+    private Reservation takeOver(IdempotencyRecord existing, LocalDateTime now) {
+        String owner = UUID.randomUUID().toString();
+        LocalDateTime leaseUntil = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs));
+        Integer updated = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.takeOver(existing.getId(), owner, leaseUntil, now));
+        if (updated == null || updated == 0) {
+            return null;
+        }
+        log.warn("Clé d'idempotence reprise après expiration du bail de son détenteur: {}", existing.getIdempotencyKey());
+        return new Reservation(existing.getId(), owner, existing.getExpiresAt());
+    }
+    
+    private <T> StoredResult runReserved(Reservation reservation, String scope, Class<T> type, Supplier<T> action) {
+        try {
+            // Action et résultat validés ensemble : pas de fenêtre où l'action est commitée sans résultat.
+            // Si le bail a été repris entre-temps, le résultat est refusé et l'action annulée.
+            T value = transactionTemplate.execute(status -> {
+                T result = action.get();
+                String body = objectMapper.writeValueAsString(result);
+                if (idempotencyRecordRepository.complete(reservation.id(), reservation.owner(), body) == 0) {
+                    throw new ConflictException("Une requête avec la même clé d'idempotence est toujours en cours");
+                }
+                return result;
+            });
+            return new StoredResult(scope, value, reservation.expiresAt());
+        } catch (RuntimeException e) {
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> idempotencyRecordRepository.release(reservation.id(), reservation.owner()));
+            } catch (RuntimeException releaseError) {
+                // La réservation sera reprise à la fin de son bail
+                log.warn("Réservation d'idempotence non libérée: {}", releaseError.getMessage());
+            }
+            throw e;
+        }
+    }
+    
+    private void pause() {
+        try {
+            Thread.sleep(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Une requête avec la même clé d'idempotence est toujours en cours");
+        }
+    }
+    
+    private StoredResult await(CompletableFuture<StoredResult> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflictException("Une requête avec la même clé d'idempotence est toujours en cours");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Une requête avec la même clé d'idempotence est toujours en cours");
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${fintrack.idempotency.cleanup-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        synchronized (recentResults) {
+            recentResults.values().removeIf(StoredResult::isExpired);
+        }
+        if (deleted > 0) {
+            log.info("{} clé(s) d'idempotence expirée(s) supprimée(s)", deleted);
+        }
+    }
+    
+    private record Reservation(Long id, String owner, LocalDateTime expiresAt) {
+    }
+    
+    private record StoredResult(String scope, Object value, LocalDateTime expiresAt) {
+        
+        boolean isExpired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+        
+        <T> T valueFor(String requestedScope, Class<T> type) {
+            if (!scope.equals(requestedScope)) {
+                throw new ConflictException("Cette clé d'idempotence a déjà été utilisée pour une autre requête");
+            }
+            return type.cast(value);
+        }
+    }
+}
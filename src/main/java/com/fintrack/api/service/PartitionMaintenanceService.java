@@ -0,0 +1,95 @@
+package com.fintrack.api.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Crée à l'avance les partitions mensuelles de transactions en découpant la
+ * partition p_future (migration db/partitioning). La migration crée les partitions
+ * jusqu'au dernier mois contenant des données : p_future restant vide, la
+ * réorganisation ne déplace aucune ligne. Une seule instance réorganise à la fois.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionMaintenanceService {
+    
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final String PARTITION_LOCK = "fintrack.partitioning";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseLockService databaseLockService;
+    
+    @Value("${fintrack.partitioning.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fintrack.partitioning.months-ahead:3}")
+    private int monthsAhead;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensureFuturePartitions();
+    }
+    
+    @Scheduled(cron = "${fintrack.partitioning.cron:0 0 3 * * *}")
+    public void ensureFuturePartitions() {
+        if (!enabled) {
+            return;
+        }
+        databaseLockService.runExclusively(PARTITION_LOCK, this::addMissingPartitions);
+    }
+    
+    private void addMissingPartitions() {
+        List<Map<String, Object>> partitions = jdbcTemplate.queryForList(
+            "SELECT partition_name, partition_description FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = 'transactions' " +
+            "AND partition_name IS NOT NULL ORDER BY partition_ordinal_position");
+        if (partitions.isEmpty()) {
+            log.warn("Partitionnement activé mais la table transactions n'est pas partitionnée");
+            return;
+        }
+        
+        LocalDate lastBound = null;
+        for (Map<String, Object> partition : partitions) {
+            String description = String.valueOf(partition.get("partition_description"));
+            if (!"MAXVALUE".equalsIgnoreCase(description)) {
+                lastBound = LocalDate.parse(description.replace("'", ""));
+            }
+        }
+        if (lastBound == null) {
+            log.warn("Aucune partition bornée trouvée sur transactions");
+            return;
+        }
+        
+        LocalDate target = YearMonth.now().plusMonths(monthsAhead + 1L).atDay(1);
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate from = lastBound; from.isBefore(target); ) {
+            LocalDate to = from.withDayOfMonth(1).plusMonths(1);
+            definitions.add("PARTITION p" + from.format(PARTITION_SUFFIX) + " VALUES LESS THAN ('" + to + "')");
+            from = to;
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        
+        jdbcTemplate.execute("ALTER TABLE transactions REORGANIZE PARTITION " + FUTURE_PARTITION +
+                " INTO (" + String.join(", ", definitions) + ")");
+        log.info("{} partitions mensuelles ajoutées à transactions (jusqu'au {})", definitions.size() - 1, target);
+    }
+}
@@ -0,0 +1,267 @@
+package com.fintrack.api.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import com.fintrack.api.dto.PendingQueueDelta;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.event.TransactionChangedEvent;
+import com.fintrack.api.exception.ServiceUnavailableException;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Diffuse en SSE la file des transactions EN_ATTENTE : un snapshot initial puis
+ * les deltas publiés par TransactionService après commit.
+ * Chaque envoi se fait sur un thread virtuel : un client bloqué au niveau TCP n'immobilise
+ * que le sien. Un abonné dont l'envoi dépasse send-timeout-ms est évincé ; son thread est
+ * libéré par le délai d'écriture du conteneur.
+ */
+@Slf4j
+@Service
+public class PendingQueueStreamService {
+    
+    private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutNanos;
+    private final long retryAfterSeconds;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    
+    public PendingQueueStreamService(
+            TransactionService transactionService,
+            ObjectMapper objectMapper,
+            @Value("${fintrack.pending-stream.buffer-size:256}") int bufferSize,
+            @Value("${fintrack.pending-stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${fintrack.pending-stream.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${fintrack.pending-stream.heartbeat-ms:15000}") long heartbeatMs,
+            @Value("${fintrack.pending-stream.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${fintrack.pending-stream.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pending-stream-sender-", 0).factory());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("pending-stream-heartbeat"));
+        this.heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        long checkMs = Math.max(1, sendTimeoutMs / 2);
+        this.heartbeats.scheduleAtFixedRate(this::evictStalled, checkMs, checkMs, TimeUnit.MILLISECONDS);
+    }
+    
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Nombre maximal d'abonnés au flux atteint", retryAfterSeconds);
+        }
+        
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> evict(subscriber));
+        emitter.onError(e -> evict(subscriber));
+        
+        // On s'abonne avant de lire le snapshot : les deltas arrivés entre-temps
+        // sont mis en file derrière lui et rejoués de façon idempotente par le client
+        subscribers.add(subscriber);
+        try {
+            List<TransactionResponse> snapshot = transactionService.getTransactionsByStatus(TransactionStatus.EN_ATTENTE);
+            if (!subscriber.queue.offerFirst(SseEmitter.event().name("snapshot").data(toJson(snapshot), MediaType.APPLICATION_JSON).build())) {
+                throw new ServiceUnavailableException("File des transactions en attente trop active, réessayez",
+                        retryAfterSeconds);
+            }
+        } catch (RuntimeException e) {
+            evict(subscriber);
+            throw e;
+        }
+        subscriber.ready = true;
+        schedule(subscriber);
+        
+        return emitter;
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+    
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        boolean wasPending = !event.isCreation() && event.before().status() == TransactionStatus.EN_ATTENTE;
+        boolean isPending = !event.isDeletion() && event.after().status() == TransactionStatus.EN_ATTENTE;
+        
+        String type;
+        if (!wasPending && isPending) {
+            type = "ADDED";
+        } else if (wasPending && isPending) {
+            type = "UPDATED";
+        } else if (wasPending) {
+            type = "REMOVED";
+        } else {
+            return;
+        }
+        
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        
+        PendingQueueDelta delta = PendingQueueDelta.builder()
+                .type(type)
+                .transactionId(event.transactionId())
+                .transaction("REMOVED".equals(type) ? null : event.response())
+                .build();
+        
+        // Sérialisé une seule fois pour tous les abonnés
+        broadcast(SseEmitter.event()
+                .name("delta")
+                .id(String.valueOf(event.transactionId()))
+                .data(toJson(delta), MediaType.APPLICATION_JSON));
+    }
+    
+    // build() modifie le builder : l'événement est figé une fois, puis partagé en lecture seule
+    private void broadcast(SseEventBuilder event) {
+        Set<DataWithMediaType> built = event.build();
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, built);
+        }
+    }
+    
+    private void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, heartbeat);
+        }
+    }
+    
+    // Client bloqué au niveau TCP : son tampon ne se remplit qu'au rythme des événements,
+    // la durée de l'envoi en cours est le seul signal fiable
+    private void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendTimeoutNanos) {
+                log.warn("Abonné SSE évincé : envoi bloqué depuis plus de {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                evict(subscriber);
+            }
+        }
+    }
+    
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (!subscriber.queue.offer(event)) {
+            // Client trop lent : son tampon est plein, on le déconnecte
+            log.warn("Abonné SSE évincé : tampon de {} événements plein", bufferSize);
+            evict(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.ready && !subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                subscriber.sendStartedNanos = System.nanoTime();
+                subscriber.emitter.send(event);
+                subscriber.sendStartedNanos = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            evict(subscriber);
+        } finally {
+            subscriber.sendStartedNanos = 0;
+            subscriber.draining.set(false);
+        }
+        // Un événement a pu arriver entre le dernier poll et la remise à false
+        if (!subscriber.closed) {
+            schedule(subscriber);
+        }
+    }
+    
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.closed = true;
+            subscriber.queue.clear();
+            // Hors du thread appelant : complete() attend la fin d'un envoi éventuellement bloqué
+            try {
+                senders.execute(() -> complete(subscriber.emitter));
+            } catch (RejectedExecutionException e) {
+                // Arrêt en cours
+                complete(subscriber.emitter);
+            }
+        }
+    }
+    
+    private static void complete(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // Déjà terminé côté conteneur
+        }
+    }
+    
+    private String toJson(Object value) {
+        return objectMapper.writeValueAsString(value);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(this::evict);
+        senders.shutdown();
+    }
+    
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingDeque<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean ready;
+        private volatile boolean closed;
+        private volatile long sendStartedNanos;
+        
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingDeque<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.fintrack.api.service;
+
+import java.time.LocalDate;
+
+import org.springframework.stereotype.Service;
+
+import com.fintrack.api.dto.MonthlyStatistics;
+import com.fintrack.api.dto.TransactionResponse;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ResourceNotFoundException;
+import com.fintrack.api.repository.ReactiveTransactionRepository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lectures réactives pour les tableaux de bord : aucun thread n'est bloqué
+ * pendant l'attente de MySQL. Les écritures restent dans TransactionService.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionService {
+    
+    private final ReactiveTransactionRepository reactiveTransactionRepository;
+    
+    public Mono<TransactionResponse> getTransactionById(Long id) {
+        return reactiveTransactionRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Transaction non trouvée avec l'ID: " + id)));
+    }
+    
+    public Flux<TransactionResponse> getAllTransactions() {
+        return reactiveTransactionRepository.findAll();
+    }
+    
+    public Flux<TransactionResponse> getTransactionsByStatus(TransactionStatus status) {
+        return reactiveTransactionRepository.findByStatus(status);
+    }
+    
+    public Flux<TransactionResponse> getTransactionsByType(TransactionType type) {
+        return reactiveTransactionRepository.findByTransactionType(type);
+    }
+    
+    public Flux<TransactionResponse> getTransactionsByCategory(Category category) {
+        return reactiveTransactionRepository.findByCategory(category);
+    }
+    
+    public Flux<TransactionResponse> getTransactionsByDateRange(LocalDate startDate, LocalDate endDate) {
+        checkDateRange(startDate, endDate);
+        return reactiveTransactionRepository.findByTransactionDateBetween(startDate, endDate);
+    }
+    
+    public Flux<TransactionResponse> getMyTransactions(String userEmail) {
+        return reactiveTransactionRepository.findByCreatorEmail(userEmail);
+    }
+    
+    public Flux<MonthlyStatistics> getMonthlyStatistics(LocalDate startDate, LocalDate endDate) {
+        checkDateRange(startDate, endDate);
+        return reactiveTransactionRepository.monthlyStatistics(startDate, endDate);
+    }
+    
+    private void checkDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("La date de début doit précéder la date de fin");
+        }
+    }
+}
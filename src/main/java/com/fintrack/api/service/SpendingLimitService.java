@@ -0,0 +1,174 @@
+package com.fintrack.api.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fintrack.api.config.SpendingLimitProperties;
+import com.fintrack.api.config.SpendingLimitProperties.Rule;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.event.TransactionSnapshot;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.repository.TransactionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Plafonds de dépense par utilisateur, type, catégorie et période.
+ *
+ * Chaque fenêtre (utilisateur, règle, début de période) est une ligne de spending_windows
+ * en centimes, partagée par toutes les instances : une réservation est un UPDATE
+ * conditionnel sur sa clé primaire, exécuté dans la transaction de l'écriture, qui
+ * n'engage rien si le plafond serait dépassé. Un rollback restitue donc la réservation,
+ * et deux instances ne peuvent pas dépasser ensemble le plafond. Une fenêtre absente est
+ * créée une fois depuis un SUM des transactions. Les transactions REJETEE ne comptent pas.
+ *
+ * Une transaction reste imputée au rôle de son créateur au moment de la création
+ * (limit_role) : un changement de rôle ne déplace pas ses montants d'une fenêtre à l'autre.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendingLimitService {
+    
+    private static final String RESERVE = "UPDATE spending_windows SET spent_cents = spent_cents + ? " +
+            "WHERE user_id = ? AND rule_key = ? AND period_start = ? AND spent_cents + ? <= ?";
+    private static final String RELEASE = "UPDATE spending_windows SET spent_cents = spent_cents - ? " +
+            "WHERE user_id = ? AND rule_key = ? AND period_start = ?";
+    private static final String SPENT = "SELECT spent_cents FROM spending_windows " +
+            "WHERE user_id = ? AND rule_key = ? AND period_start = ?";
+    private static final String CREATE = "INSERT IGNORE INTO spending_windows " +
+            "(user_id, rule_key, period_start, period_end, spent_cents) VALUES (?, ?, ?, ?, ?)";
+    private static final String PURGE = "DELETE FROM spending_windows WHERE period_end < ?";
+    
+    private final SpendingLimitProperties properties;
+    private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * Applique une écriture aux fenêtres : libère l'état précédent, réserve le nouvel état.
+     * À appeler dans la transaction de l'écriture, avant de modifier l'entité ;
+     * before null = création, after null = suppression. chargedRole : voir {@link #chargedRole}.
+     */
+    public void applyChange(TransactionSnapshot before, TransactionSnapshot after, Role chargedRole) {
+        if (!properties.isEnabled() || properties.getRules().isEmpty()) {
+            return;
+        }
+        
+        for (Charge charge : charges(before, chargedRole)) {
+            release(charge);
+        }
+        for (Charge charge : charges(after, chargedRole)) {
+            reserve(charge);
+        }
+    }
+    
+    // Rôle imputé à la création ; les lignes antérieures à limit_role prennent le rôle actuel
+    public Role chargedRole(Transaction transaction) {
+        return transaction.getLimitRole() != null ? transaction.getLimitRole() : transaction.getCreatedBy().getRole();
+    }
+    
+    // Les fenêtres des périodes révolues sont recréées depuis les transactions si besoin
+    @Scheduled(cron = "${fintrack.limits.cleanup-cron:0 15 0 * * *}")
+    public void purgePastWindows() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int purged = jdbcTemplate.update(PURGE, Date.valueOf(LocalDate.now().minusDays(1)));
+        if (purged > 0) {
+            log.info("{} fenêtres de plafonds révolues supprimées", purged);
+        }
+    }
+    
+    private void reserve(Charge charge) {
+        long limit = toCents(charge.rule().getMaxAmount());
+        if (jdbcTemplate.update(RESERVE, charge.cents(), charge.userId(), charge.ruleKey(),
+                Date.valueOf(charge.periodStart()), charge.cents(), limit) == 1) {
+            return;
+        }
+        
+        // Fenêtre absente, ou plafond atteint
+        long current = spent(charge);
+        if (current + charge.cents() > limit || jdbcTemplate.update(RESERVE, charge.cents(), charge.userId(),
+                charge.ruleKey(), Date.valueOf(charge.periodStart()), charge.cents(), limit) == 0) {
+            Rule rule = charge.rule();
+            throw new BadRequestException("Plafond dépassé : les transactions " + rule.getTransactionType()
+                    + (rule.getCategory() != null ? "/" + rule.getCategory() : "")
+                    + " sont limitées à " + rule.getMaxAmount() + " " + rule.getPeriod().label()
+                    + " (déjà engagé : " + fromCents(current) + ", demandé : " + fromCents(charge.cents()) + ")");
+        }
+    }
+    
+    private void release(Charge charge) {
+        if (jdbcTemplate.update(RELEASE, charge.cents(), charge.userId(), charge.ruleKey(),
+                Date.valueOf(charge.periodStart())) == 0) {
+            // Créée depuis la base, qui compte encore l'état libéré
+            spent(charge);
+            jdbcTemplate.update(RELEASE, charge.cents(), charge.userId(), charge.ruleKey(),
+                    Date.valueOf(charge.periodStart()));
+        }
+    }
+    
+    // Montant engagé sur la fenêtre, créée si besoin ; INSERT IGNORE : une autre instance
+    // a pu la créer entre-temps
+    private long spent(Charge charge) {
+        List<Long> existing = jdbcTemplate.queryForList(SPENT, Long.class, charge.userId(), charge.ruleKey(),
+                Date.valueOf(charge.periodStart()));
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+        
+        Rule rule = charge.rule();
+        LocalDate end = rule.getPeriod().end(charge.periodStart());
+        BigDecimal committed = transactionRepository.sumCommittedAmount(charge.userId(), rule.getRole(),
+                rule.getTransactionType(), rule.getCategory(), charge.periodStart(), end);
+        jdbcTemplate.update(CREATE, charge.userId(), charge.ruleKey(), Date.valueOf(charge.periodStart()),
+                Date.valueOf(end), toCents(committed));
+        return jdbcTemplate.queryForObject(SPENT, Long.class, charge.userId(), charge.ruleKey(),
+                Date.valueOf(charge.periodStart()));
+    }
+    
+    private List<Charge> charges(TransactionSnapshot snapshot, Role chargedRole) {
+        if (snapshot == null || snapshot.status() == TransactionStatus.REJETEE) {
+            return List.of();
+        }
+        
+        List<Charge> charges = new ArrayList<>(2);
+        for (Rule rule : properties.getRules()) {
+            if (rule.getRole() == chargedRole
+                    && rule.getTransactionType() == snapshot.transactionType()
+                    && (rule.getCategory() == null || rule.getCategory() == snapshot.category())) {
+                charges.add(new Charge(snapshot.createdById(), ruleKey(rule), rule,
+                        rule.getPeriod().start(snapshot.transactionDate()), toCents(snapshot.amount())));
+            }
+        }
+        return charges;
+    }
+    
+    // Identifie la règle indépendamment de son rang dans la configuration et de son plafond
+    private static String ruleKey(Rule rule) {
+        return rule.getRole() + ":" + rule.getTransactionType() + ":"
+                + (rule.getCategory() != null ? rule.getCategory() : "*") + ":" + rule.getPeriod();
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    private record Charge(Long userId, String ruleKey, Rule rule, LocalDate periodStart, long cents) {
+    }
+}
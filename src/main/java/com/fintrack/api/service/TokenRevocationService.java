@@ -0,0 +1,141 @@
+package com.fintrack.api.service;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintrack.api.cache.InvalidationBus;
+import com.fintrack.api.entity.TokenRevocation;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.UnauthorizedException;
+import com.fintrack.api.repository.TokenRevocationRepository;
+import com.fintrack.api.security.JwtUtil;
+import com.fintrack.api.security.TokenRevocationList;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Révocation des JWT : chaque révocation est enregistrée dans token_revocations puis,
+ * après le commit, appliquée à la TokenRevocationList locale et diffusée aux autres
+ * instances par l'InvalidationBus (identifiant de la ligne, relue par chaque instance).
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+    
+    private static final String REGION = "token-revocation";
+    
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final InvalidationBus invalidationBus;
+    private final JwtUtil jwtUtil;
+    private final long tokenLifetimeSeconds;
+    
+    public TokenRevocationService(
+            TokenRevocationRepository tokenRevocationRepository,
+            TokenRevocationList tokenRevocationList,
+            InvalidationBus invalidationBus,
+            JwtUtil jwtUtil,
+            MeterRegistry registry,
+            @Value("${jwt.expiration}") long expirationMs) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.invalidationBus = invalidationBus;
+        this.jwtUtil = jwtUtil;
+        this.tokenLifetimeSeconds = expirationMs / 1000;
+        
+        invalidationBus.subscribe(REGION, id -> {
+            if (id == null) {
+                reload();
+            } else {
+                tokenRevocationRepository.findById(id).ifPresent(this::apply);
+            }
+        });
+        Gauge.builder("fintrack.auth.revocations", tokenRevocationList, TokenRevocationList::size)
+                .description("Révocations de jetons actives en mémoire")
+                .register(registry);
+    }
+    
+    // Tous les jetons déjà émis pour cet utilisateur (désactivation, suppression, changement de rôle)
+    @Transactional
+    public void revokeUser(String email) {
+        Instant now = Instant.now();
+        save(TokenRevocation.builder()
+                .subject(email)
+                .notBefore(now.toEpochMilli())
+                .expiresAt(now.getEpochSecond() + tokenLifetimeSeconds)
+                .build());
+    }
+    
+    // Déconnexion : seul le jeton présenté est refusé, jusqu'à son expiration
+    @Transactional
+    public void revokeToken(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.parse(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Jeton invalide ou expiré");
+        }
+        if (claims.getId() == null) {
+            throw new BadRequestException("Ce jeton ne peut pas être révoqué individuellement, reconnectez-vous");
+        }
+        save(TokenRevocation.builder()
+                .tokenId(claims.getId())
+                .expiresAt(claims.getExpiration().toInstant().getEpochSecond())
+                .build());
+    }
+    
+    private void save(TokenRevocation revocation) {
+        TokenRevocation saved = tokenRevocationRepository.save(revocation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(saved);
+                    invalidationBus.publish(REGION, saved.getId());
+                }
+            });
+        } else {
+            apply(saved);
+            invalidationBus.publish(REGION, saved.getId());
+        }
+    }
+    
+    private void apply(TokenRevocation revocation) {
+        if (revocation.getSubject() != null) {
+            tokenRevocationList.revokeSubject(revocation.getSubject(), revocation.getNotBefore());
+        }
+        if (revocation.getTokenId() != null) {
+            tokenRevocationList.denyToken(revocation.getTokenId(), revocation.getExpiresAt());
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        int count = 0;
+        for (TokenRevocation revocation : tokenRevocationRepository.findByExpiresAtGreaterThan(Instant.now().getEpochSecond())) {
+            apply(revocation);
+            count++;
+        }
+        log.info("{} révocation(s) de jetons chargée(s)", count);
+    }
+    
+    @Scheduled(fixedDelayString = "${fintrack.auth.revocation-cleanup-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        tokenRevocationRepository.deleteExpired(now);
+        tokenRevocationList.purge(now, tokenLifetimeSeconds);
+    }
+}
@@ -0,0 +1,172 @@
+package com.fintrack.api.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintrack.api.cache.InvalidationBus;
+import com.fintrack.api.entity.ArchivedTransaction;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.repository.ArchivedTransactionRepository;
+import com.fintrack.api.repository.TransactionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Archivage des périodes closes : les transactions FINALISEE / REJETEE antérieures
+ * à l'horizon de rétention sont déplacées par lots dans transactions_archive.
+ * Les lectures consultent l'archive uniquement quand elle peut contenir des résultats.
+ * Une seule instance archive à la fois (verrou en base) ; elle diffuse ensuite la nouvelle
+ * borne aux autres par le bus d'invalidation, qui la relisent en base.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionArchiveService {
+    
+    private static final String ARCHIVE_LOCK = "fintrack.archive";
+    private static final String ARCHIVE_REGION = "transaction-archive";
+    
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseLockService databaseLockService;
+    private final InvalidationBus invalidationBus;
+    
+    @Value("${fintrack.archive.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fintrack.archive.retention-months:12}")
+    private int retentionMonths;
+    
+    @Value("${fintrack.archive.batch-size:1000}")
+    private int batchSize;
+    
+    // Date de la transaction archivée la plus récente, null si l'archive est vide
+    private volatile LocalDate archivedUpTo;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadArchiveHorizon() {
+        invalidationBus.subscribe(ARCHIVE_REGION, ignored -> refreshArchiveHorizon());
+        refreshArchiveHorizon();
+    }
+    
+    private void refreshArchiveHorizon() {
+        archivedUpTo = archivedTransactionRepository.findLatestArchivedDate();
+    }
+    
+    @Scheduled(cron = "${fintrack.archive.cron:0 30 2 * * *}")
+    public void archiveClosedPeriods() {
+        if (!enabled) {
+            return;
+        }
+        if (!databaseLockService.runExclusively(ARCHIVE_LOCK, this::archive)) {
+            log.info("Archivage déjà en cours sur une autre instance");
+        }
+    }
+    
+    private void archive() {
+        // Seuls des mois entiers sont archivés
+        LocalDate horizon = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(horizon));
+            archived += moved;
+        } while (moved == batchSize);
+        
+        if (archived > 0) {
+            refreshArchiveHorizon();
+            invalidationBus.publish(ARCHIVE_REGION, null);
+            log.info("{} transactions antérieures au {} archivées", archived, horizon);
+        }
+    }
+    
+    private int archiveBatch(LocalDate horizon) {
+        List<Long> ids = transactionRepository.findArchivableIds(horizon, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedTransactionRepository.copyFromTransactions(ids, horizon, LocalDateTime.now());
+        transactionRepository.deleteArchived(ids, horizon);
+        return ids.size();
+    }
+    
+    public Optional<Transaction> findById(Long id) {
+        if (archivedUpTo == null) {
+            return Optional.empty();
+        }
+        return archivedTransactionRepository.findById(id).map(ArchivedTransaction::toTransaction);
+    }
+    
+    public List<Transaction> findAllById(Collection<Long> ids) {
+        if (archivedUpTo == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return toTransactions(archivedTransactionRepository.findAllWithUsersByIdIn(ids));
+    }
+    
+    public List<Transaction> findAll() {
+        if (archivedUpTo == null) {
+            return List.of();
+        }
+        return toTransactions(archivedTransactionRepository.findAll());
+    }
+    
+    public List<Transaction> findByStatus(TransactionStatus status) {
+        // Seules les transactions closes sont archivées
+        if (archivedUpTo == null || (status != TransactionStatus.FINALISEE && status != TransactionStatus.REJETEE)) {
+            return List.of();
+        }
+        return toTransactions(archivedTransactionRepository.findByStatus(status));
+    }
+    
+    public List<Transaction> findByTransactionType(TransactionType type) {
+        if (archivedUpTo == null) {
+            return List.of();
+        }
+        return toTransactions(archivedTransactionRepository.findByTransactionType(type));
+    }
+    
+    public List<Transaction> findByCategory(Category category) {
+        if (archivedUpTo == null) {
+            return List.of();
+        }
+        return toTransactions(archivedTransactionRepository.findByCategory(category));
+    }
+    
+    public List<Transaction> findByCreatedById(Long userId) {
+        if (archivedUpTo == null) {
+            return List.of();
+        }
+        return toTransactions(archivedTransactionRepository.findByCreatedById(userId));
+    }
+    
+    public List<Transaction> findByTransactionDateBetween(LocalDate startDate, LocalDate endDate) {
+        if (archivedUpTo == null || startDate.isAfter(archivedUpTo)) {
+            return List.of();
+        }
+        return toTransactions(archivedTransactionRepository.findByTransactionDateBetween(startDate, endDate));
+    }
+    
+    private List<Transaction> toTransactions(List<ArchivedTransaction> archived) {
+        return archived.stream()
+                .map(ArchivedTransaction::toTransaction)
+                .collect(Collectors.toList());
+    }
+}
@@ -2,26 +2,42 @@ package com.fintrack.api.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fintrack.api.cache.TransactionCache;
+import com.fintrack.api.dto.BatchItem;
+import com.fintrack.api.duplicate.DuplicateDetector;
 import com.fintrack.api.dto.TransactionCreateRequest;
 import com.fintrack.api.dto.TransactionResponse;
 import com.fintrack.api.dto.TransactionUpdateRequest;
 import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.TransactionTombstone;
 import com.fintrack.api.entity.User;
 import com.fintrack.api.enums.Category;
 import com.fintrack.api.enums.Role;
 import com.fintrack.api.enums.TransactionStatus;
 import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.event.TransactionChangedEvent;
+import com.fintrack.api.event.TransactionSnapshot;
 import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ConflictException;
 import com.fintrack.api.exception.ResourceNotFoundException;
 import com.fintrack.api.exception.UnauthorizedException;
 import com.fintrack.api.mapper.TransactionMapper;
+import com.fintrack.api.metrics.TransactionMetrics;
 import com.fintrack.api.repository.TransactionRepository;
+import com.fintrack.api.repository.TransactionTombstoneRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -33,209 +49,383 @@ public class TransactionService {
     private final TransactionMapper transactionMapper;
     private final UserService userService;
     private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionMetrics transactionMetrics;
+    private final TransactionArchiveService transactionArchiveService;
+    private final TransactionTombstoneRepository transactionTombstoneRepository;
+    private final TransactionCache transactionCache;
+    private final SpendingLimitService spendingLimitService;
+    private final DuplicateDetector duplicateDetector;
+    
+    @Value("${fintrack.batch.max-ids:200}")
+    private int maxBatchIds;
     
     @Transactional
     public TransactionResponse createTransaction(TransactionCreateRequest request, String userEmail) {
-        User creator = userService.findByEmail(userEmail);
-        
-        // Validation : montant positif
-        if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Le montant doit être positif");
+        long start = System.nanoTime();
+        try {
+            User creator = userService.findByEmail(userEmail);
+            
+            // Validation : montant positif
+            if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException("Le montant doit être positif");
+            }
+            
+            Transaction transaction = transactionMapper.toEntity(request, creator);
+            
+            // Double saisie probable (même montant, date, type, catégorie et libellé)
+            Long duplicateOf = duplicateDetector.checkAndRecord(transaction);
+            if (duplicateOf != null && duplicateDetector.mode() == DuplicateDetector.Mode.REJECT) {
+                throw new ConflictException("Transaction identique déjà saisie : #" + duplicateOf);
+            }
+            
+            transaction.setLimitRole(creator.getRole());
+            spendingLimitService.applyChange(null, TransactionSnapshot.of(transaction), creator.getRole());
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            
+            // Log d'audit
+            auditService.log(creator.getId(), "CREATE_TRANSACTION", "Transaction", 
+                            savedTransaction.getId(), 
+                            "Création transaction " + request.getTransactionType() + " de " + request.getAmount());
+            if (duplicateOf != null) {
+                auditService.log(creator.getId(), "DUPLICATE_SUSPECTED", "Transaction",
+                                savedTransaction.getId(),
+                                "Doublon probable de la transaction #" + duplicateOf);
+            }
+            
+            TransactionResponse response = transactionMapper.toResponse(savedTransaction);
+            response.setPossibleDuplicateOf(duplicateOf);
+            publishChange(null, savedTransaction, response);
+            return response;
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.CREATE, start);
         }
-        
-        Transaction transaction = transactionMapper.toEntity(request, creator);
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        
-        // Log d'audit
-        auditService.log(creator.getId(), "CREATE_TRANSACTION", "Transaction", 
-                        savedTransaction.getId(), 
-                        "Création transaction " + request.getTransactionType() + " de " + request.getAmount());
-        
-        return transactionMapper.toResponse(savedTransaction);
     }
     
     @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long id) {
-        Transaction transaction = findTransactionById(id);
-        return transactionMapper.toResponse(transaction);
+        long start = System.nanoTime();
+        try {
+            return transactionCache.get(id, () -> {
+                // Les périodes archivées restent consultables de façon transparente
+                Transaction transaction = transactionRepository.findById(id)
+                        .or(() -> transactionArchiveService.findById(id))
+                        .orElseThrow(() -> new ResourceNotFoundException("Transaction non trouvée avec l'ID: " + id));
+                return transactionMapper.toResponse(transaction);
+            });
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.GET_BY_ID, start);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BatchItem<TransactionResponse>> getTransactionsByIds(List<Long> ids) {
+        long start = System.nanoTime();
+        try {
+            Set<Long> uniqueIds = BatchIds.distinct(ids, maxBatchIds);
+            
+            Map<Long, TransactionResponse> found = new HashMap<>();
+            for (Transaction transaction : transactionRepository.findAllWithUsersByIdIn(uniqueIds)) {
+                found.put(transaction.getId(), transactionCache.map(transaction, transactionMapper::toResponse));
+            }
+            if (found.size() < uniqueIds.size()) {
+                List<Long> missing = uniqueIds.stream().filter(id -> !found.containsKey(id)).toList();
+                for (Transaction transaction : transactionArchiveService.findAllById(missing)) {
+                    found.put(transaction.getId(), transactionCache.map(transaction, transactionMapper::toResponse));
+                }
+            }
+            return BatchItem.inOrder(uniqueIds, found);
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.GET_BATCH, start);
+        }
     }
     
     @Transactional(readOnly = true)
     public List<TransactionResponse> getAllTransactions() {
-        return transactionRepository.findAll()
-                .stream()
-                .map(transactionMapper::toResponse)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return toResponses(transactionRepository.findAll(),
+                               transactionArchiveService.findAll());
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.LIST_ALL, start);
+        }
     }
     
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByStatus(TransactionStatus status) {
-        return transactionRepository.findByStatus(status)
-                .stream()
-                .map(transactionMapper::toResponse)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return toResponses(transactionRepository.findByStatus(status),
+                               transactionArchiveService.findByStatus(status));
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.LIST_BY_STATUS, start);
+        }
     }
     
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByType(TransactionType type) {
-        return transactionRepository.findByTransactionType(type)
-                .stream()
-                .map(transactionMapper::toResponse)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return toResponses(transactionRepository.findByTransactionType(type),
+                               transactionArchiveService.findByTransactionType(type));
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.LIST_BY_TYPE, start);
+        }
     }
     
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByCategory(Category category) {
-        return transactionRepository.findByCategory(category)
-                .stream()
-                .map(transactionMapper::toResponse)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return toResponses(transactionRepository.findByCategory(category),
+                               transactionArchiveService.findByCategory(category));
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.LIST_BY_CATEGORY, start);
+        }
     }
     
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return transactionRepository.findByTransactionDateBetween(startDate, endDate)
-                .stream()
-                .map(transactionMapper::toResponse)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            return toResponses(transactionRepository.findByTransactionDateBetween(startDate, endDate),
+                               transactionArchiveService.findByTransactionDateBetween(startDate, endDate));
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.LIST_BY_DATE_RANGE, start);
+        }
     }
     
     @Transactional(readOnly = true)
     public List<TransactionResponse> getMyTransactions(String userEmail) {
-        User user = userService.findByEmail(userEmail);
-        return transactionRepository.findByCreatedById(user.getId())
-                .stream()
-                .map(transactionMapper::toResponse)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        try {
+            User user = userService.findByEmail(userEmail);
+            return toResponses(transactionRepository.findByCreatedById(user.getId()),
+                               transactionArchiveService.findByCreatedById(user.getId()));
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.LIST_MINE, start);
+        }
     }
     
     @Transactional
     public TransactionResponse updateTransaction(Long id, TransactionUpdateRequest request, String userEmail) {
-        Transaction transaction = findTransactionById(id);
-        User user = userService.findByEmail(userEmail);
-        
-        // Vérifier les permissions : seul le créateur ou un ADMIN peut modifier
-        if (!transaction.getCreatedBy().getId().equals(user.getId()) && user.getRole() != Role.ADMIN) {
-            throw new UnauthorizedException("Vous n'êtes pas autorisé à modifier cette transaction");
-        }
-        
-        // On ne peut pas modifier une transaction finalisée
-        if (transaction.getStatus() == TransactionStatus.FINALISEE) {
-            throw new BadRequestException("Impossible de modifier une transaction finalisée");
+        long start = System.nanoTime();
+        try {
+            Transaction transaction = findTransactionById(id);
+            User user = userService.findByEmail(userEmail);
+            
+            // Vérifier les permissions : seul le créateur ou un ADMIN peut modifier
+            if (!transaction.getCreatedBy().getId().equals(user.getId()) && user.getRole() != Role.ADMIN) {
+                throw new UnauthorizedException("Vous n'êtes pas autorisé à modifier cette transaction");
+            }
+            
+            // On ne peut pas modifier une transaction finalisée
+            if (transaction.getStatus() == TransactionStatus.FINALISEE) {
+                throw new BadRequestException("Impossible de modifier une transaction finalisée");
+            }
+            
+            // Validation du montant si présent
+            if (request.getAmount() != null && request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new BadRequestException("Le montant doit être positif");
+            }
+            
+            TransactionSnapshot before = TransactionSnapshot.of(transaction);
+            Map<String, Object> auditBefore = AuditService.stateOf(transaction);
+            spendingLimitService.applyChange(before, updatedSnapshot(before, request), spendingLimitService.chargedRole(transaction));
+            transactionMapper.updateEntityFromRequest(request, transaction);
+            Transaction updatedTransaction = transactionRepository.save(transaction);
+            
+            // Log d'audit : champs modifiés uniquement
+            auditService.logChanges(user.getId(), "UPDATE_TRANSACTION", "Transaction",
+                            updatedTransaction.getId(), auditBefore, AuditService.stateOf(updatedTransaction));
+            
+            TransactionResponse response = transactionMapper.toResponse(updatedTransaction);
+            publishChange(before, updatedTransaction, response);
+            return response;
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.UPDATE, start);
         }
-        
-        // Validation du montant si présent
-        if (request.getAmount() != null && request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new BadRequestException("Le montant doit être positif");
-        }
-        
-        transactionMapper.updateEntityFromRequest(request, transaction);
-        Transaction updatedTransaction = transactionRepository.save(transaction);
-        
-        // Log d'audit
-        auditService.log(user.getId(), "UPDATE_TRANSACTION", "Transaction", 
-                        updatedTransaction.getId(), 
-                        "Modification de la transaction #" + id);
-        
-        return transactionMapper.toResponse(updatedTransaction);
     }
     
     @Transactional
     public void deleteTransaction(Long id, String userEmail) {
-        Transaction transaction = findTransactionById(id);
-        User user = userService.findByEmail(userEmail);
-        
-        // Seul un ADMIN peut supprimer une transaction
-        if (user.getRole() != Role.ADMIN) {
-            throw new UnauthorizedException("Seul un ADMIN peut supprimer une transaction");
+        long start = System.nanoTime();
+        try {
+            Transaction transaction = findTransactionById(id);
+            User user = userService.findByEmail(userEmail);
+            
+            // Seul un ADMIN peut supprimer une transaction
+            if (user.getRole() != Role.ADMIN) {
+                throw new UnauthorizedException("Seul un ADMIN peut supprimer une transaction");
+            }
+            
+            // Log d'audit avant suppression
+            auditService.log(user.getId(), "DELETE_TRANSACTION", "Transaction", 
+                            transaction.getId(), 
+                            "Suppression de la transaction #" + id);
+            
+            TransactionSnapshot before = TransactionSnapshot.of(transaction);
+            spendingLimitService.applyChange(before, null, spendingLimitService.chargedRole(transaction));
+            transactionRepository.delete(transaction);
+            
+            // Pierre tombale pour les clients en synchronisation incrémentale
+            transactionTombstoneRepository.save(TransactionTombstone.builder()
+                    .transactionId(transaction.getId())
+                    .createdById(transaction.getCreatedBy().getId())
+                    .build());
+            eventPublisher.publishEvent(new TransactionChangedEvent(before, null, null));
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.DELETE, start);
         }
-        
-        // Log d'audit avant suppression
-        auditService.log(user.getId(), "DELETE_TRANSACTION", "Transaction", 
-                        transaction.getId(), 
-                        "Suppression de la transaction #" + id);
-        
-        transactionRepository.delete(transaction);
     }
     
     @Transactional
     public TransactionResponse validateTransaction(Long id, String userEmail) {
-        Transaction transaction = findTransactionById(id);
-        User validator = userService.findByEmail(userEmail);
-        
-        // Seul un MANAGER peut valider
-        if (validator.getRole() != Role.MANAGER && validator.getRole() != Role.ADMIN) {
-            throw new UnauthorizedException("Seul un MANAGER ou ADMIN peut valider une transaction");
-        }
-        
-        // La transaction doit être EN_ATTENTE
-        if (transaction.getStatus() != TransactionStatus.EN_ATTENTE) {
-            throw new BadRequestException("Seule une transaction EN_ATTENTE peut être validée");
+        long start = System.nanoTime();
+        try {
+            Transaction transaction = findTransactionById(id);
+            User validator = userService.findByEmail(userEmail);
+            
+            // Seul un MANAGER peut valider
+            if (validator.getRole() != Role.MANAGER && validator.getRole() != Role.ADMIN) {
+                throw new UnauthorizedException("Seul un MANAGER ou ADMIN peut valider une transaction");
+            }
+            
+            // La transaction doit être EN_ATTENTE
+            if (transaction.getStatus() != TransactionStatus.EN_ATTENTE) {
+                throw new BadRequestException("Seule une transaction EN_ATTENTE peut être validée");
+            }
+            
+            checkNotClaimedByOther(transaction, validator);
+            
+            TransactionSnapshot before = TransactionSnapshot.of(transaction);
+            Map<String, Object> auditBefore = AuditService.stateOf(transaction);
+            transaction.setStatus(TransactionStatus.VALIDEE);
+            transaction.setValidatedBy(validator);
+            releaseClaim(transaction);
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            
+            // Log d'audit
+            auditService.logChanges(validator.getId(), "VALIDATE_TRANSACTION", "Transaction",
+                            savedTransaction.getId(), auditBefore, AuditService.stateOf(savedTransaction));
+            
+            TransactionResponse response = transactionMapper.toResponse(savedTransaction);
+            publishChange(before, savedTransaction, response);
+            return response;
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.VALIDATE, start);
         }
-        
-        transaction.setStatus(TransactionStatus.VALIDEE);
-        transaction.setValidatedBy(validator);
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        
-        // Log d'audit
-        auditService.log(validator.getId(), "VALIDATE_TRANSACTION", "Transaction", 
-                        savedTransaction.getId(), 
-                        "Validation de la transaction #" + id);
-        
-        return transactionMapper.toResponse(savedTransaction);
     }
     
     @Transactional
     public TransactionResponse finalizeTransaction(Long id, String userEmail) {
-        Transaction transaction = findTransactionById(id);
-        User finalizer = userService.findByEmail(userEmail);
-        
-        // Seul un ADMIN peut finaliser
-        if (finalizer.getRole() != Role.ADMIN) {
-            throw new UnauthorizedException("Seul un ADMIN peut finaliser une transaction");
+        long start = System.nanoTime();
+        try {
+            Transaction transaction = findTransactionById(id);
+            User finalizer = userService.findByEmail(userEmail);
+            
+            // Seul un ADMIN peut finaliser
+            if (finalizer.getRole() != Role.ADMIN) {
+                throw new UnauthorizedException("Seul un ADMIN peut finaliser une transaction");
+            }
+            
+            // La transaction doit être VALIDEE
+            if (transaction.getStatus() != TransactionStatus.VALIDEE) {
+                throw new BadRequestException("Seule une transaction VALIDEE peut être finalisée");
+            }
+            
+            TransactionSnapshot before = TransactionSnapshot.of(transaction);
+            Map<String, Object> auditBefore = AuditService.stateOf(transaction);
+            transaction.setStatus(TransactionStatus.FINALISEE);
+            transaction.setFinalizedBy(finalizer);
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            
+            // Log d'audit
+            auditService.logChanges(finalizer.getId(), "FINALIZE_TRANSACTION", "Transaction",
+                            savedTransaction.getId(), auditBefore, AuditService.stateOf(savedTransaction));
+            
+            TransactionResponse response = transactionMapper.toResponse(savedTransaction);
+            publishChange(before, savedTransaction, response);
+            return response;
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.FINALIZE, start);
         }
-        
-        // La transaction doit être VALIDEE
-        if (transaction.getStatus() != TransactionStatus.VALIDEE) {
-            throw new BadRequestException("Seule une transaction VALIDEE peut être finalisée");
-        }
-        
-        transaction.setStatus(TransactionStatus.FINALISEE);
-        transaction.setFinalizedBy(finalizer);
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        
-        // Log d'audit
-        auditService.log(finalizer.getId(), "FINALIZE_TRANSACTION", "Transaction", 
-                        savedTransaction.getId(), 
-                        "Finalisation de la transaction #" + id);
-        
-        return transactionMapper.toResponse(savedTransaction);
     }
     
     @Transactional
     public TransactionResponse rejectTransaction(Long id, String userEmail) {
-        Transaction transaction = findTransactionById(id);
-        User rejector = userService.findByEmail(userEmail);
-        
-        // MANAGER ou ADMIN peuvent rejeter
-        if (rejector.getRole() != Role.MANAGER && rejector.getRole() != Role.ADMIN) {
-            throw new UnauthorizedException("Seul un MANAGER ou ADMIN peut rejeter une transaction");
+        long start = System.nanoTime();
+        try {
+            Transaction transaction = findTransactionById(id);
+            User rejector = userService.findByEmail(userEmail);
+            
+            // MANAGER ou ADMIN peuvent rejeter
+            if (rejector.getRole() != Role.MANAGER && rejector.getRole() != Role.ADMIN) {
+                throw new UnauthorizedException("Seul un MANAGER ou ADMIN peut rejeter une transaction");
+            }
+            
+            // On ne peut pas rejeter une transaction finalisée
+            if (transaction.getStatus() == TransactionStatus.FINALISEE) {
+                throw new BadRequestException("Impossible de rejeter une transaction finalisée");
+            }
+            
+            checkNotClaimedByOther(transaction, rejector);
+            
+            TransactionSnapshot before = TransactionSnapshot.of(transaction);
+            Map<String, Object> auditBefore = AuditService.stateOf(transaction);
+            spendingLimitService.applyChange(before, null, spendingLimitService.chargedRole(transaction));
+            transaction.setStatus(TransactionStatus.REJETEE);
+            releaseClaim(transaction);
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            
+            // Log d'audit
+            auditService.logChanges(rejector.getId(), "REJECT_TRANSACTION", "Transaction",
+                            savedTransaction.getId(), auditBefore, AuditService.stateOf(savedTransaction));
+            
+            TransactionResponse response = transactionMapper.toResponse(savedTransaction);
+            publishChange(before, savedTransaction, response);
+            return response;
+        } finally {
+            transactionMetrics.record(TransactionMetrics.Operation.REJECT, start);
         }
-        
-        // On ne peut pas rejeter une transaction finalisée
-        if (transaction.getStatus() == TransactionStatus.FINALISEE) {
-            throw new BadRequestException("Impossible de rejeter une transaction finalisée");
+    }
+    
+    // Une transaction réservée dans la file d'approbation ne peut être traitée
+    // que par son valideur tant que le bail n'a pas expiré
+    private void checkNotClaimedByOther(Transaction transaction, User user) {
+        if (transaction.getClaimedBy() != null
+                && !transaction.getClaimedBy().getId().equals(user.getId())
+                && transaction.getClaimExpiresAt() != null
+                && transaction.getClaimExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new ConflictException("Cette transaction est réservée par un autre valideur");
         }
-        
-        transaction.setStatus(TransactionStatus.REJETEE);
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        
-        // Log d'audit
-        auditService.log(rejector.getId(), "REJECT_TRANSACTION", "Transaction", 
-                        savedTransaction.getId(), 
-                        "Rejet de la transaction #" + id);
-        
-        return transactionMapper.toResponse(savedTransaction);
+    }
+    
+    private void releaseClaim(Transaction transaction) {
+        transaction.setClaimedBy(null);
+        transaction.setClaimExpiresAt(null);
+    }
+    
+    private List<TransactionResponse> toResponses(List<Transaction> live, List<Transaction> archived) {
+        return Stream.concat(live.stream(), archived.stream())
+                .map(transaction -> transactionCache.map(transaction, transactionMapper::toResponse))
+                .collect(Collectors.toList());
+    }
+    
+    // État après application de la requête de modification, sans toucher à l'entité
+    private TransactionSnapshot updatedSnapshot(TransactionSnapshot before, TransactionUpdateRequest request) {
+        return new TransactionSnapshot(
+                before.id(),
+                request.getAmount() != null ? request.getAmount() : before.amount(),
+                request.getTransactionType() != null ? request.getTransactionType() : before.transactionType(),
+                request.getCategory() != null ? request.getCategory() : before.category(),
+                before.status(),
+                request.getTransactionDate() != null ? request.getTransactionDate() : before.transactionDate(),
+                before.createdById());
+    }
+    
+    private void publishChange(TransactionSnapshot before, Transaction after, TransactionResponse response) {
+        eventPublisher.publishEvent(new TransactionChangedEvent(before, TransactionSnapshot.of(after), response));
     }
     
     private Transaction findTransactionById(Long id) {
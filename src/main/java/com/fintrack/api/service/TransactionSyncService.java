@@ -0,0 +1,168 @@
+package com.fintrack.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintrack.api.dto.TransactionChanges;
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.TransactionTombstone;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ConflictException;
+import com.fintrack.api.mapper.TransactionMapper;
+import com.fintrack.api.repository.TransactionRepository;
+import com.fintrack.api.repository.TransactionTombstoneRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Synchronisation incrémentale : renvoie les transactions créées ou modifiées et
+ * les suppressions depuis le curseur du client.
+ *
+ * Seules les lignes plus anciennes que la fenêtre de latence sont servies : une
+ * écriture encore en cours au moment de la lecture ne peut donc pas recevoir une
+ * position déjà dépassée par le curseur.
+ *
+ * Le curseur porte aussi l'horizon de la lecture qui l'a produit : il n'expire que si
+ * cette lecture date de plus que la rétention des pierres tombales, quelle que soit
+ * la date de la dernière suppression.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionSyncService {
+    
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionTombstoneRepository transactionTombstoneRepository;
+    private final TransactionMapper transactionMapper;
+    private final UserService userService;
+    
+    @Value("${fintrack.sync.max-page-size:500}")
+    private int maxPageSize;
+    
+    @Value("${fintrack.sync.lag-ms:5000}")
+    private long lagMs;
+    
+    @Value("${fintrack.sync.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays;
+    
+    @Transactional(readOnly = true)
+    public TransactionChanges getChanges(String cursor, int limit, boolean mine, String userEmail) {
+        if (limit <= 0 || limit > maxPageSize) {
+            throw new BadRequestException("La taille de page doit être entre 1 et " + maxPageSize);
+        }
+        
+        Cursor position = Cursor.decode(cursor);
+        // Des pierres tombales postérieures à la dernière lecture du client ont pu être purgées
+        if (cursor != null && position.issuedAt().isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays))) {
+            throw new ConflictException("Curseur expiré, une synchronisation complète est nécessaire");
+        }
+        
+        Long creatorId = null;
+        if (mine) {
+            User user = userService.findByEmail(userEmail);
+            creatorId = user.getId();
+        }
+        
+        LocalDateTime horizon = LocalDateTime.now().minusNanos(lagMs * 1_000_000);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        
+        List<Transaction> changed = transactionRepository.findChangedSince(
+                creatorId, position.updatedAt(), position.transactionId(), horizon, page);
+        List<TransactionTombstone> deleted = transactionTombstoneRepository.findDeletedSince(
+                creatorId, position.deletedAt(), position.tombstoneId(), horizon, page);
+        
+        boolean moreDeletions = deleted.size() > limit;
+        boolean hasMore = changed.size() > limit || moreDeletions;
+        if (changed.size() > limit) {
+            changed = changed.subList(0, limit);
+        }
+        if (moreDeletions) {
+            deleted = deleted.subList(0, limit);
+        }
+        
+        Cursor next = position.reissued(horizon);
+        if (!changed.isEmpty()) {
+            Transaction last = changed.get(changed.size() - 1);
+            next = next.withUpdate(last.getUpdatedAt(), last.getId());
+        }
+        if (moreDeletions) {
+            TransactionTombstone last = deleted.get(deleted.size() - 1);
+            next = next.withDeletion(last.getDeletedAt(), last.getId());
+        } else {
+            // Toutes les suppressions antérieures à l'horizon ont été servies
+            next = next.withDeletion(horizon, 0);
+        }
+        
+        return TransactionChanges.builder()
+                .upserts(changed.stream().map(transactionMapper::toResponse).collect(Collectors.toList()))
+                .deletedIds(deleted.stream().map(TransactionTombstone::getTransactionId).collect(Collectors.toList()))
+                .nextCursor(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    @Transactional
+    @Scheduled(fixedDelayString = "${fintrack.sync.cleanup-ms:3600000}")
+    public void purgeTombstones() {
+        int purged = transactionTombstoneRepository.deleteOlderThan(
+                LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            log.info("{} pierres tombales expirées supprimées", purged);
+        }
+    }
+    
+    // Positions atteintes dans les deux parcours et horizon de la lecture qui a produit le curseur,
+    // transmis au client sous forme opaque
+    private record Cursor(LocalDateTime updatedAt, long transactionId, LocalDateTime deletedAt, long tombstoneId,
+                          LocalDateTime issuedAt) {
+        
+        static Cursor decode(String value) {
+            if (value == null || value.isBlank()) {
+                return new Cursor(ORIGIN, 0, ORIGIN, 0, ORIGIN);
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("\\|");
+                LocalDateTime updatedAt = LocalDateTime.parse(parts[0]);
+                LocalDateTime deletedAt = LocalDateTime.parse(parts[2]);
+                // Curseurs à quatre champs émis avant l'ajout de l'horizon : la position la plus
+                // avancée est une borne inférieure de leur date d'émission
+                LocalDateTime issuedAt = parts.length > 4 ? LocalDateTime.parse(parts[4])
+                        : (updatedAt.isAfter(deletedAt) ? updatedAt : deletedAt);
+                return new Cursor(updatedAt, Long.parseLong(parts[1]), deletedAt, Long.parseLong(parts[3]), issuedAt);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new BadRequestException("Curseur de synchronisation invalide");
+            }
+        }
+        
+        String encode() {
+            String raw = updatedAt + "|" + transactionId + "|" + deletedAt + "|" + tombstoneId + "|" + issuedAt;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        Cursor withUpdate(LocalDateTime at, long id) {
+            return new Cursor(at, id, deletedAt, tombstoneId, issuedAt);
+        }
+        
+        Cursor withDeletion(LocalDateTime at, long id) {
+            return new Cursor(updatedAt, transactionId, at, id, issuedAt);
+        }
+        
+        Cursor reissued(LocalDateTime at) {
+            return new Cursor(updatedAt, transactionId, deletedAt, tombstoneId, at);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.fintrack.api.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintrack.api.dto.UserBulkCreateRequest;
+import com.fintrack.api.dto.UserBulkCreateResponse;
+import com.fintrack.api.dto.UserBulkResult;
+import com.fintrack.api.dto.UserCreateRequest;
+import com.fintrack.api.dto.UserResponse;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.enums.BulkUserStatus;
+import com.fintrack.api.exception.BadRequestException;
+import com.fintrack.api.exception.ConflictException;
+import com.fintrack.api.mapper.UserMapper;
+import com.fintrack.api.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Création d'utilisateurs en masse : conflits d'email vérifiés en une requête, hachage BCrypt
+ * réparti sur un pool borné (un thread par cœur par défaut), insertion par lots JDBC.
+ * Le hachage se fait hors transaction pour ne pas retenir de connexion pendant le calcul.
+ */
+@Slf4j
+@Service
+public class UserProvisioningService {
+    
+    private static final String INSERT = "INSERT INTO users (email, password, first_name, last_name, role, " +
+            "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxUsers;
+    private final int insertBatchSize;
+    private final ExecutorService hashPool;
+    
+    public UserProvisioningService(
+            UserRepository userRepository,
+            UserMapper userMapper,
+            PasswordEncoder passwordEncoder,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${fintrack.users.bulk.max-users:1000}") int maxUsers,
+            @Value("${fintrack.users.bulk.insert-batch-size:200}") int insertBatchSize,
+            @Value("${fintrack.users.bulk.hash-threads:0}") int hashThreads) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxUsers = maxUsers;
+        this.insertBatchSize = insertBatchSize;
+        // 0 : un thread par cœur, BCrypt étant purement CPU
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        this.hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hasher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public UserBulkCreateResponse createUsers(UserBulkCreateRequest request) {
+        List<UserCreateRequest> users = request.getUsers();
+        if (users.size() > maxUsers) {
+            throw new BadRequestException("Au plus " + maxUsers + " utilisateurs par création en masse");
+        }
+        long start = System.nanoTime();
+        
+        UserBulkResult[] results = new UserBulkResult[users.size()];
+        List<Integer> accepted = classify(users, results);
+        
+        long hashStart = System.nanoTime();
+        List<String> hashes = hashPasswords(users, accepted);
+        long hashingNanos = System.nanoTime() - hashStart;
+        
+        long insertStart = System.nanoTime();
+        Map<String, User> created = accepted.isEmpty() ? Map.of() : insert(users, accepted, hashes);
+        long insertNanos = System.nanoTime() - insertStart;
+        
+        for (int index : accepted) {
+            UserCreateRequest user = users.get(index);
+            UserResponse response = userMapper.toResponse(created.get(normalize(user.getEmail())));
+            results[index] = result(index, user, BulkUserStatus.CREE, response);
+        }
+        
+        long durationNanos = System.nanoTime() - start;
+        double seconds = durationNanos / 1_000_000_000.0;
+        log.info("Création en masse : {} utilisateur(s) créé(s) sur {} en {} ms", accepted.size(), users.size(),
+                TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        return UserBulkCreateResponse.builder()
+                .requested(users.size())
+                .created(accepted.size())
+                .rejected(users.size() - accepted.size())
+                .hashingMs(TimeUnit.NANOSECONDS.toMillis(hashingNanos))
+                .insertMs(TimeUnit.NANOSECONDS.toMillis(insertNanos))
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .usersPerSecond(seconds > 0 ? accepted.size() / seconds : 0.0)
+                .results(List.of(results))
+                .build();
+    }
+    
+    // Doublons dans la demande puis emails déjà en base, en une seule requête ;
+    // renvoie les positions à créer
+    private List<Integer> classify(List<UserCreateRequest> users, UserBulkResult[] results) {
+        Set<String> requested = new HashSet<>();
+        List<String> emails = new ArrayList<>(users.size());
+        for (UserCreateRequest user : users) {
+            emails.add(normalize(user.getEmail()));
+        }
+        Set<String> existing = new HashSet<>();
+        for (String email : userRepository.findExistingEmails(emails)) {
+            existing.add(normalize(email));
+        }
+        
+        List<Integer> accepted = new ArrayList<>(users.size());
+        for (int index = 0; index < users.size(); index++) {
+            UserCreateRequest user = users.get(index);
+            String email = normalize(user.getEmail());
+            if (existing.contains(email)) {
+                results[index] = result(index, user, BulkUserStatus.EMAIL_EXISTANT, null);
+            } else if (!requested.add(email)) {
+                results[index] = result(index, user, BulkUserStatus.DOUBLON, null);
+            } else {
+                accepted.add(index);
+            }
+        }
+        return accepted;
+    }
+    
+    private List<String> hashPasswords(List<UserCreateRequest> users, List<Integer> accepted) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            String password = users.get(index).getPassword();
+            futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), hashPool));
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<String> future : futures) {
+                hashes.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            throw new IllegalStateException("Hachage des mots de passe impossible", e.getCause());
+        }
+        return hashes;
+    }
+    
+    // Tout ou rien : un email créé entre la vérification et l'insertion annule le lot
+    private Map<String, User> insert(List<UserCreateRequest> users, List<Integer> accepted, List<String> hashes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Integer> positions = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            positions.add(i);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                jdbcTemplate.batchUpdate(INSERT, positions, insertBatchSize, (statement, position) -> {
+                    UserCreateRequest user = users.get(accepted.get(position));
+                    statement.setString(1, normalize(user.getEmail()));
+                    statement.setString(2, hashes.get(position));
+                    statement.setString(3, user.getFirstName());
+                    statement.setString(4, user.getLastName());
+                    statement.setString(5, user.getRole().name());
+                    statement.setBoolean(6, true);
+                    statement.setTimestamp(7, now);
+                    statement.setTimestamp(8, now);
+                });
+                
+                List<String> emails = accepted.stream().map(index -> normalize(users.get(index).getEmail())).toList();
+                Map<String, User> created = new HashMap<>();
+                for (User user : userRepository.findByEmailIn(emails)) {
+                    created.put(normalize(user.getEmail()), user);
+                }
+                return created;
+            });
+        } catch (DuplicateKeyException e) {
+            throw new ConflictException("Un des emails a été créé pendant l'import, aucun utilisateur n'a été ajouté");
+        }
+    }
+    
+    private static UserBulkResult result(int index, UserCreateRequest user, BulkUserStatus status, UserResponse response) {
+        return UserBulkResult.builder()
+                .index(index)
+                .email(user.getEmail())
+                .status(status)
+                .user(response)
+                .build();
+    }
+    
+    // La collation MySQL de users.email ignore la casse : les comparaisons aussi. Les emails
+    // sont aussi enregistrés sous cette forme, sans quoi " A@x.fr" échapperait au contrôle
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+}
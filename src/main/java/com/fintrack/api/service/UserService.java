@@ -1,5 +1,7 @@
 package com.fintrack.api.service;
 
+import com.fintrack.api.cache.TransactionCache;
+import com.fintrack.api.dto.BatchItem;
 import com.fintrack.api.dto.LoginRequest;
 import com.fintrack.api.dto.UserCreateRequest;
 import com.fintrack.api.dto.UserUpdateRequest;
@@ -10,15 +12,21 @@ import com.fintrack.api.enums.Role;
 import com.fintrack.api.exception.ConflictException;
 import com.fintrack.api.exception.ResourceNotFoundException;
 import com.fintrack.api.mapper.UserMapper;
+import com.fintrack.api.metrics.RequestTiming;
+import com.fintrack.api.repository.ArchivedTransactionRepository;
+import com.fintrack.api.repository.TransactionRepository;
 import com.fintrack.api.repository.UserRepository;
 import com.fintrack.api.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,9 +34,17 @@ import java.util.stream.Collectors;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder; 
     private final JwtUtil jwtUtil; 
+    private final TransactionCache transactionCache;
+    private final AuditService auditService;
+    private final TokenRevocationService tokenRevocationService;
+    
+    @Value("${fintrack.batch.max-ids:200}")
+    private int maxBatchIds;
     
     @Transactional
     public UserResponse createUser(UserCreateRequest request) {
@@ -51,6 +67,15 @@ public class UserService {
         return userMapper.toResponse(user);
     }
     
+    @Transactional(readOnly = true)
+    public List<BatchItem<UserResponse>> getUsersByIds(List<Long> ids) {
+        Set<Long> uniqueIds = BatchIds.distinct(ids, maxBatchIds);
+        Map<Long, UserResponse> found = userRepository.findAllById(uniqueIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, userMapper::toResponse));
+        return BatchItem.inOrder(uniqueIds, found);
+    }
+    
     @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         return userRepository.findAll()
@@ -76,7 +101,7 @@ public class UserService {
     }
     
     @Transactional
-    public UserResponse updateUser(Long id, UserUpdateRequest request) {
+    public UserResponse updateUser(Long id, UserUpdateRequest request, String adminEmail) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé avec l'ID: " + id));
         
@@ -86,8 +111,21 @@ public class UserService {
             }
         }
         
+        Map<String, Object> auditBefore = AuditService.stateOf(user);
+        String previousEmail = user.getEmail();
+        Role previousRole = user.getRole();
         userMapper.updateEntityFromRequest(request, user);
         User updatedUser = userRepository.save(user);
+        transactionCache.evictUser(id);
+        
+        // Les jetons portent l'email et le rôle : ils ne doivent plus servir après un changement
+        if (!previousEmail.equals(updatedUser.getEmail()) || previousRole != updatedUser.getRole()
+                || !Boolean.TRUE.equals(updatedUser.getIsActive())) {
+            tokenRevocationService.revokeUser(previousEmail);
+        }
+        
+        User admin = findByEmail(adminEmail);
+        auditService.logChanges(admin.getId(), "UPDATE_USER", "User", id, auditBefore, AuditService.stateOf(updatedUser));
         
         return userMapper.toResponse(updatedUser);
     }
@@ -96,7 +134,21 @@ public class UserService {
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé avec l'ID: " + id));
+        
+        // Règles des clés étrangères appliquées côté application : la table
+        // transactions partitionnée ne peut pas en porter
+        if (transactionRepository.existsByCreatedById(id) || archivedTransactionRepository.existsByCreatedById(id)) {
+            throw new ConflictException("Cet utilisateur a créé des transactions, désactivez-le plutôt");
+        }
+        transactionRepository.clearValidatedBy(id);
+        transactionRepository.clearFinalizedBy(id);
+        transactionRepository.releaseClaims(id);
+        archivedTransactionRepository.clearValidatedBy(id);
+        archivedTransactionRepository.clearFinalizedBy(id);
+        
         userRepository.delete(user);
+        transactionCache.evictUser(id);
+        tokenRevocationService.revokeUser(user.getEmail());
     }
     
     @Transactional
@@ -105,6 +157,8 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé avec l'ID: " + id));
         user.setIsActive(false);
         userRepository.save(user);
+        transactionCache.evictUser(id);
+        tokenRevocationService.revokeUser(user.getEmail());
     }
     
     // Méthode de login
@@ -132,7 +186,12 @@ public class UserService {
     
     //Pour récupérer un User par email
     public User findByEmail(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé avec l'email: " + email));
+        long timingStart = RequestTiming.start();
+        try {
+            return userRepository.findByEmail(email)
+                    .orElseThrow(() -> new ResourceNotFoundException("Utilisateur non trouvé avec l'email: " + email));
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.USER, timingStart);
+        }
     }
 }
\ No newline at end of file
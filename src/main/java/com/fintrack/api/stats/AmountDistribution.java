@@ -0,0 +1,62 @@
+package com.fintrack.api.stats;
+
+import java.math.BigDecimal;
+
+/**
+ * Distribution des montants d'un groupe (catégorie, type, mois) : nombre et somme exacts,
+ * sketch de quantiles et histogramme à bornes fixes. Fusionnable, compteurs signés.
+ * Non thread-safe : les appelants synchronisent sur l'instance.
+ */
+public final class AmountDistribution {
+    
+    private long count;
+    private BigDecimal sum;
+    private final AmountSketch sketch;
+    private final AmountHistogram histogram;
+    
+    public AmountDistribution() {
+        this(0, BigDecimal.ZERO, new AmountSketch(), new AmountHistogram());
+    }
+    
+    public AmountDistribution(long count, BigDecimal sum, AmountSketch sketch, AmountHistogram histogram) {
+        this.count = count;
+        this.sum = sum;
+        this.sketch = sketch;
+        this.histogram = histogram;
+    }
+    
+    // sign : 1 pour un ajout, -1 pour un retrait
+    public void add(BigDecimal amount, int sign) {
+        count += sign;
+        sum = sign > 0 ? sum.add(amount) : sum.subtract(amount);
+        sketch.add(amount.doubleValue(), sign);
+        histogram.add(amount, sign);
+    }
+    
+    public void merge(AmountDistribution other) {
+        count += other.count;
+        sum = sum.add(other.sum);
+        sketch.merge(other.sketch);
+        histogram.merge(other.histogram);
+    }
+    
+    public boolean isEmpty() {
+        return count == 0 && sketch.isEmpty();
+    }
+    
+    public long count() {
+        return count;
+    }
+    
+    public BigDecimal sum() {
+        return sum;
+    }
+    
+    public AmountSketch sketch() {
+        return sketch;
+    }
+    
+    public AmountHistogram histogram() {
+        return histogram;
+    }
+}
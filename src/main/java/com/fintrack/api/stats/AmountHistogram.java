@@ -0,0 +1,97 @@
+package com.fintrack.api.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Histogramme à bornes fixes (série 1-2-5) des montants : compteurs exacts, signés pour
+ * porter des retraits, fusionnables par addition.
+ * Bucket i : [LOWER_BOUNDS[i], LOWER_BOUNDS[i + 1]), le dernier est ouvert à droite.
+ */
+public final class AmountHistogram {
+    
+    private static final BigDecimal[] LOWER_BOUNDS = {
+            new BigDecimal("0"), new BigDecimal("10"), new BigDecimal("20"), new BigDecimal("50"),
+            new BigDecimal("100"), new BigDecimal("200"), new BigDecimal("500"),
+            new BigDecimal("1000"), new BigDecimal("2000"), new BigDecimal("5000"),
+            new BigDecimal("10000"), new BigDecimal("20000"), new BigDecimal("50000"),
+            new BigDecimal("100000"), new BigDecimal("200000"), new BigDecimal("500000"),
+            new BigDecimal("1000000")
+    };
+    
+    private final long[] counts = new long[LOWER_BOUNDS.length];
+    
+    public void add(BigDecimal amount, long count) {
+        counts[bucketOf(amount)] += count;
+    }
+    
+    public void merge(AmountHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+    
+    private static int bucketOf(BigDecimal amount) {
+        int low = 0;
+        int high = LOWER_BOUNDS.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (amount.compareTo(LOWER_BOUNDS[mid]) >= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    
+    public int size() {
+        return counts.length;
+    }
+    
+    public BigDecimal lowerBound(int bucket) {
+        return LOWER_BOUNDS[bucket];
+    }
+    
+    // null pour le dernier bucket
+    public BigDecimal upperBound(int bucket) {
+        return bucket + 1 < LOWER_BOUNDS.length ? LOWER_BOUNDS[bucket + 1] : null;
+    }
+    
+    public long count(int bucket) {
+        return counts[bucket];
+    }
+    
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(counts.length * 2);
+        Varints.write(out, counts.length);
+        for (long count : counts) {
+            Varints.write(out, count);
+        }
+        return out.toByteArray();
+    }
+    
+    public static AmountHistogram decode(byte[] data) {
+        AmountHistogram histogram = new AmountHistogram();
+        if (data == null || data.length == 0) {
+            return histogram;
+        }
+        ByteBuffer in = ByteBuffer.wrap(data);
+        int size = (int) Varints.read(in);
+        if (size != histogram.counts.length) {
+            throw new IllegalStateException("Histogramme persisté avec " + size + " buckets au lieu de "
+                    + histogram.counts.length + " : reconstruction nécessaire");
+        }
+        for (int i = 0; i < size; i++) {
+            histogram.counts[i] = Varints.read(in);
+        }
+        return histogram;
+    }
+    
+    @Override
+    public String toString() {
+        return Arrays.toString(counts);
+    }
+}
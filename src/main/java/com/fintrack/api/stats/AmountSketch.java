@@ -0,0 +1,130 @@
+package com.fintrack.api.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sketch de quantiles à buckets logarithmiques (type DDSketch) : la valeur x tombe dans le
+ * bucket ceil(log(x) / log(gamma)), gamma = (1 + a) / (1 - a). Tout quantile renvoyé est à
+ * une erreur relative a près de la vraie valeur de même rang.
+ * Contrairement à t-digest ou KLL, les compteurs sont exacts : une valeur peut être retirée
+ * (count négatif), ce qu'exigent les modifications et suppressions de transactions, et deux
+ * sketches fusionnent par simple addition des compteurs.
+ * Compteurs signés : un sketch peut porter un delta (retraits) en attente de fusion.
+ */
+public final class AmountSketch {
+    
+    // Constante et non configurable : les sketches persistés doivent rester fusionnables
+    public static final double RELATIVE_ACCURACY = 0.01;
+    
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    // En dessous, la valeur est comptée comme nulle (montants en centimes au minimum)
+    private static final double MIN_INDEXABLE = 1e-6;
+    
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    
+    public void add(double value, long count) {
+        if (count == 0) {
+            return;
+        }
+        if (value < MIN_INDEXABLE) {
+            zeroCount += count;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        if (buckets.merge(index, count, Long::sum) == 0) {
+            buckets.remove(index);
+        }
+    }
+    
+    public void merge(AmountSketch other) {
+        zeroCount += other.zeroCount;
+        for (Map.Entry<Integer, Long> bucket : other.buckets.entrySet()) {
+            if (buckets.merge(bucket.getKey(), bucket.getValue(), Long::sum) == 0) {
+                buckets.remove(bucket.getKey());
+            }
+        }
+    }
+    
+    public long count() {
+        long count = zeroCount;
+        for (long bucketCount : buckets.values()) {
+            count += bucketCount;
+        }
+        return count;
+    }
+    
+    public boolean isEmpty() {
+        return zeroCount == 0 && buckets.isEmpty();
+    }
+    
+    /**
+     * Valeur de rang q * (n - 1), 0 <= q <= 1, à RELATIVE_ACCURACY près ; NaN si le sketch est vide.
+     */
+    public double quantile(double q) {
+        long count = count();
+        if (count <= 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long cumulated = Math.max(0, zeroCount);
+        if (rank < cumulated) {
+            return 0;
+        }
+        Map.Entry<Integer, Long> last = null;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            last = bucket;
+            cumulated += Math.max(0, bucket.getValue());
+            if (rank < cumulated) {
+                return bucketValue(bucket.getKey());
+            }
+        }
+        return last == null ? 0 : bucketValue(last.getKey());
+    }
+    
+    // Milieu (au sens de l'erreur relative) de ]gamma^(i-1), gamma^i]
+    private static double bucketValue(int index) {
+        return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+    }
+    
+    public int bucketCount() {
+        return buckets.size();
+    }
+    
+    /**
+     * Format : compteur des valeurs nulles, nombre de buckets, puis pour chaque bucket
+     * l'écart d'index avec le précédent et son compteur, tous en entiers variables.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + buckets.size() * 3);
+        Varints.write(out, zeroCount);
+        Varints.write(out, buckets.size());
+        int previous = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            Varints.write(out, bucket.getKey() - previous);
+            Varints.write(out, bucket.getValue());
+            previous = bucket.getKey();
+        }
+        return out.toByteArray();
+    }
+    
+    public static AmountSketch decode(byte[] data) {
+        AmountSketch sketch = new AmountSketch();
+        if (data == null || data.length == 0) {
+            return sketch;
+        }
+        ByteBuffer in = ByteBuffer.wrap(data);
+        sketch.zeroCount = Varints.read(in);
+        long size = Varints.read(in);
+        int index = 0;
+        for (long i = 0; i < size; i++) {
+            index += (int) Varints.read(in);
+            sketch.buckets.put(index, Varints.read(in));
+        }
+        return sketch;
+    }
+}
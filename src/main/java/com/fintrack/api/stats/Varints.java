@@ -0,0 +1,40 @@
+package com.fintrack.api.stats;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Entiers signés à longueur variable (zigzag + LEB128) : les petits écarts et compteurs
+ * tiennent sur un ou deux octets, ce qui rend les sketches persistés compacts.
+ */
+final class Varints {
+    
+    private Varints() {
+    }
+    
+    static void write(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+    
+    static long read(ByteBuffer in) {
+        long zigzag = 0;
+        int shift = 0;
+        while (true) {
+            byte b = in.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalArgumentException("Entier variable invalide");
+            }
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,17 @@
+-- =====================================================
+-- V10 : révocation des jetons JWT
+-- Ligne utilisateur : jetons de subject émis au plus tard à not_before (epoch ms) refusés,
+-- comparé au claim iat_ms (iat n'a qu'une précision à la seconde)
+-- Ligne jeton : jeton token_id (claim jti) refusé
+-- expires_at (epoch s) : au-delà, tous les jetons visés ont expiré et la ligne est purgée
+-- =====================================================
+
+CREATE TABLE token_revocations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    subject VARCHAR(255) NULL,
+    token_id VARCHAR(64) NULL,
+    not_before BIGINT NULL,
+    expires_at BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_revocation_expires (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,21 @@
+-- =====================================================
+-- V11 : distributions des montants par catégorie, type et mois
+-- sketch : sketch de quantiles à buckets logarithmiques (erreur relative 1 %)
+-- histogram : compteurs de l'histogramme à bornes fixes
+-- Les instances y fusionnent leurs deltas ; reconstruction possible depuis transactions
+-- et transactions_archive (/api/stats/amounts/rebuild)
+-- =====================================================
+
+CREATE TABLE amount_stats (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    category VARCHAR(20) NOT NULL,
+    transaction_type VARCHAR(10) NOT NULL,
+    period DATE NOT NULL,
+    value_count BIGINT NOT NULL DEFAULT 0,
+    value_sum DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    sketch BLOB NOT NULL,
+    histogram BLOB NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_amount_stats (category, transaction_type, period),
+    INDEX idx_amount_stats_period (period)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
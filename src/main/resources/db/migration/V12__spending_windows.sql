@@ -0,0 +1,19 @@
+-- =====================================================
+-- V12 : plafonds de dépense partagés entre instances
+-- spending_windows : montant engagé par utilisateur, règle et période, réservé par
+-- UPDATE conditionnel dans la transaction de l'écriture
+-- limit_role : rôle du créateur à la création, seul rôle imputé ensuite
+-- (NULL pour les lignes existantes : rôle actuel du créateur)
+-- =====================================================
+
+CREATE TABLE spending_windows (
+    user_id BIGINT NOT NULL,
+    rule_key VARCHAR(100) NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    spent_cents BIGINT NOT NULL,
+    PRIMARY KEY (user_id, rule_key, period_start),
+    INDEX idx_spending_windows_end (period_end)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+ALTER TABLE transactions ADD COLUMN limit_role VARCHAR(20) NULL, ALGORITHM=INSTANT;
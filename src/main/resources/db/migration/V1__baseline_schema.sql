@@ -0,0 +1,151 @@
+-- =====================================================
+-- V1 : schéma de référence FinTrack (équivalent du script bdd, sans données)
+-- Les bases déjà créées avec bdd sont marquées à cette version (baseline-on-migrate)
+-- =====================================================
+
+CREATE TABLE users (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    role ENUM('ADMIN', 'MANAGER', 'COMPTABLE') NOT NULL,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_email (email),
+    INDEX idx_role (role),
+    INDEX idx_active (is_active)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+
+CREATE TABLE transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    amount DECIMAL(15, 2) NOT NULL,
+    transaction_type ENUM('CREDIT', 'DEBIT') NOT NULL,
+    category ENUM('SALAIRE', 'ACHAT', 'VENTE', 'AUTRE') NOT NULL,
+    status ENUM('EN_ATTENTE', 'VALIDEE', 'FINALISEE', 'REJETEE') DEFAULT 'EN_ATTENTE',
+    description TEXT,
+    transaction_date DATE NOT NULL,
+    created_by BIGINT NOT NULL,
+    validated_by BIGINT,
+    finalized_by BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE RESTRICT,
+    FOREIGN KEY (validated_by) REFERENCES users(id) ON DELETE SET NULL,
+    FOREIGN KEY (finalized_by) REFERENCES users(id) ON DELETE SET NULL,
+    INDEX idx_type (transaction_type),
+    INDEX idx_status (status),
+    INDEX idx_category (category),
+    INDEX idx_date (transaction_date),
+    INDEX idx_created_by (created_by),
+    CHECK (amount > 0)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+
+CREATE TABLE audit_logs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT,
+    action VARCHAR(100) NOT NULL,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id BIGINT,
+    details TEXT,
+    ip_address VARCHAR(45),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL,
+    INDEX idx_user_id (user_id),
+    INDEX idx_action (action),
+    INDEX idx_entity (entity_type, entity_id),
+    INDEX idx_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+
+CREATE TABLE reports (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    report_type ENUM('MONTHLY', 'QUARTERLY', 'ANNUAL', 'CUSTOM') NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    total_credits DECIMAL(15, 2) DEFAULT 0,
+    total_debits DECIMAL(15, 2) DEFAULT 0,
+    balance DECIMAL(15, 2) DEFAULT 0,
+    generated_by BIGINT NOT NULL,
+    generated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (generated_by) REFERENCES users(id) ON DELETE RESTRICT,
+    INDEX idx_dates (start_date, end_date),
+    INDEX idx_generated_by (generated_by)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- =====================================================
+-- Vues utiles
+-- =====================================================
+
+-- Vue : Transactions avec informations utilisateurs
+CREATE VIEW v_transactions_details AS
+SELECT 
+    t.id,
+    t.amount,
+    t.transaction_type,
+    t.category,
+    t.status,
+    t.description,
+    t.transaction_date,
+    CONCAT(u1.first_name, ' ', u1.last_name) AS created_by_name,
+    CONCAT(u2.first_name, ' ', u2.last_name) AS validated_by_name,
+    CONCAT(u3.first_name, ' ', u3.last_name) AS finalized_by_name,
+    t.created_at,
+    t.updated_at
+FROM transactions t
+LEFT JOIN users u1 ON t.created_by = u1.id
+LEFT JOIN users u2 ON t.validated_by = u2.id
+LEFT JOIN users u3 ON t.finalized_by = u3.id;
+
+-- Vue : Statistiques par mois
+CREATE VIEW v_monthly_statistics AS
+SELECT 
+    DATE_FORMAT(transaction_date, '%Y-%m') AS month,
+    COUNT(*) AS total_transactions,
+    SUM(CASE WHEN transaction_type = 'CREDIT' THEN amount ELSE 0 END) AS total_credits,
+    SUM(CASE WHEN transaction_type = 'DEBIT' THEN amount ELSE 0 END) AS total_debits,
+    SUM(CASE WHEN transaction_type = 'CREDIT' THEN amount ELSE -amount END) AS balance
+FROM transactions
+WHERE status IN ('VALIDEE', 'FINALISEE')
+GROUP BY DATE_FORMAT(transaction_date, '%Y-%m')
+ORDER BY month DESC;
+
+-- =====================================================
+-- Procédures stockées 
+-- =====================================================
+
+DELIMITER //
+
+CREATE PROCEDURE sp_validate_transaction(
+    IN p_transaction_id BIGINT,
+    IN p_validator_id BIGINT
+)
+BEGIN
+    DECLARE v_status VARCHAR(20);
+    
+    SELECT status INTO v_status FROM transactions WHERE id = p_transaction_id;
+    
+    IF v_status = 'EN_ATTENTE' THEN
+        UPDATE transactions 
+        SET status = 'VALIDEE', 
+            validated_by = p_validator_id,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE id = p_transaction_id;
+
+        INSERT INTO audit_logs (user_id, action, entity_type, entity_id, details)
+        VALUES (p_validator_id, 'VALIDATE_TRANSACTION', 'Transaction', p_transaction_id, 
+                CONCAT('Validation de la transaction #', p_transaction_id));
+    ELSE
+        SIGNAL SQLSTATE '45000' 
+        SET MESSAGE_TEXT = 'Transaction ne peut pas être validée dans cet état';
+    END IF;
+END //
+
+DELIMITER ;
+
+CREATE INDEX idx_transaction_amount ON transactions(amount);
+CREATE INDEX idx_user_role_active ON users(role, is_active);
+CREATE FULLTEXT INDEX idx_transaction_description ON transactions(description);
@@ -0,0 +1,24 @@
+-- =====================================================
+-- V2 : file d'approbation à réservation (claim)
+-- claimed_by / claim_expires_at : bail d'un réviseur sur une transaction EN_ATTENTE
+-- idx_pending_queue sert le parcours SELECT ... FOR UPDATE SKIP LOCKED de la file
+-- =====================================================
+
+ALTER TABLE transactions
+    ADD COLUMN claimed_by BIGINT NULL,
+    ADD COLUMN claim_expires_at TIMESTAMP NULL,
+    ALGORITHM=INSTANT;
+
+ALTER TABLE transactions
+    ADD INDEX idx_pending_queue (status, transaction_date, id),
+    ADD INDEX idx_claim_expires (claim_expires_at),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Contrainte nommée : son nom ne dépend pas de l'origine de la base (bdd ou Flyway)
+-- Sans foreign_key_checks=0, MySQL reconstruit la table par copie (écritures bloquées) ;
+-- la colonne vient d'être ajoutée et ne contient que des NULL, aucune ligne n'est à vérifier
+SET foreign_key_checks = 0;
+ALTER TABLE transactions
+    ADD CONSTRAINT fk_transactions_claimed_by FOREIGN KEY (claimed_by) REFERENCES users(id) ON DELETE SET NULL,
+    ALGORITHM=INPLACE, LOCK=NONE;
+SET foreign_key_checks = 1;
@@ -0,0 +1,22 @@
+-- =====================================================
+-- V3 : clés d'idempotence (en-tête Idempotency-Key)
+-- Une ligne par (utilisateur, clé), insérée EN_COURS avant d'exécuter l'action :
+-- la contrainte unique désigne l'unique instance qui l'exécute. owner_token et lease_until
+-- identifient ce détenteur et permettent de reprendre la clé s'il a disparu.
+-- La réponse stockée (TERMINEE) est rejouée jusqu'à expires_at
+-- =====================================================
+
+CREATE TABLE idempotency_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    idempotency_key VARCHAR(255) NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    scope VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    owner_token VARCHAR(36) NULL,
+    lease_until TIMESTAMP NULL,
+    response_body TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    UNIQUE KEY uk_idempotency_user_key (user_email, idempotency_key),
+    INDEX idx_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
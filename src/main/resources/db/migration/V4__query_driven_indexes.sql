@@ -0,0 +1,28 @@
+-- =====================================================
+-- V4 : index composites et couvrants dérivés des requêtes de TransactionRepository
+-- ALGORITHM=INPLACE, LOCK=NONE : construction en ligne, lectures et écritures
+-- non bloquées ; MySQL refuse l'instruction plutôt que de verrouiller la table.
+-- Les index sont ajoutés en une seule instruction (un seul parcours de la table).
+-- =====================================================
+
+-- sumAmountByTypeAndDateRange : type =, status IN, intervalle de dates, SUM(amount)
+--   -> index couvrant, la somme est calculée sans lire les lignes
+-- findSuspiciousTransactions : intervalle de dates puis filtre sur le montant
+--   -> amount évalué dans l'index (index condition pushdown)
+-- findByCreatedById / mes transactions : created_by =, triées par date
+ALTER TABLE transactions
+    ADD INDEX idx_type_status_date_amount (transaction_type, status, transaction_date, amount),
+    ADD INDEX idx_date_amount (transaction_date, amount),
+    ADD INDEX idx_created_by_date (created_by, transaction_date),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- findByDateRangeAndStatuses et countByStatusAndDateRange sont déjà servis par
+-- idx_pending_queue (status, transaction_date, id) : le COUNT est résolu dans l'index.
+-- Les index mono-colonne devenus des préfixes d'index composites sont supprimés
+-- (opération de métadonnées uniquement).
+ALTER TABLE transactions
+    DROP INDEX idx_status,
+    DROP INDEX idx_type,
+    DROP INDEX idx_date,
+    DROP INDEX idx_created_by,
+    ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,26 @@
+-- =====================================================
+-- V5 : table d'archive des périodes closes (transactions FINALISEE / REJETEE)
+-- Mêmes identifiants que dans transactions ; pas de clés étrangères pour que
+-- l'archivage ne dépende pas du partitionnement de la table source.
+-- =====================================================
+
+CREATE TABLE transactions_archive (
+    id BIGINT PRIMARY KEY,
+    amount DECIMAL(15, 2) NOT NULL,
+    transaction_type ENUM('CREDIT', 'DEBIT') NOT NULL,
+    category ENUM('SALAIRE', 'ACHAT', 'VENTE', 'AUTRE') NOT NULL,
+    status ENUM('EN_ATTENTE', 'VALIDEE', 'FINALISEE', 'REJETEE') NOT NULL,
+    description TEXT,
+    transaction_date DATE NOT NULL,
+    created_by BIGINT NOT NULL,
+    validated_by BIGINT,
+    finalized_by BIGINT,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_archive_date (transaction_date),
+    INDEX idx_archive_status_date (status, transaction_date),
+    INDEX idx_archive_type_date (transaction_type, transaction_date),
+    INDEX idx_archive_category_date (category, transaction_date),
+    INDEX idx_archive_created_by_date (created_by, transaction_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,18 @@
+-- =====================================================
+-- V6 : flux de modifications (synchronisation incrémentale)
+-- Curseur (updated_at, id) sur transactions, suppressions conservées en pierres tombales
+-- =====================================================
+
+ALTER TABLE transactions
+    ADD INDEX idx_updated_id (updated_at, id),
+    ADD INDEX idx_created_by_updated_id (created_by, updated_at, id),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+CREATE TABLE transaction_tombstones (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    transaction_id BIGINT NOT NULL,
+    created_by BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX idx_tombstone_deleted (deleted_at, id),
+    INDEX idx_tombstone_created_by (created_by, deleted_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
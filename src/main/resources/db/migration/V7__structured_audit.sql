@@ -0,0 +1,18 @@
+-- =====================================================
+-- V7 : journal d'audit structuré
+-- Différences champ par champ dans une colonne binaire (JSON, compressé au-delà d'un seuil)
+-- et index des champs modifiés pour l'historique par champ
+-- MEDIUMBLOB : un BLOB plafonne à 64 Ko, au-delà MySQL rejette ou tronque la ligne d'audit
+-- =====================================================
+
+ALTER TABLE audit_logs
+    ADD COLUMN changes MEDIUMBLOB NULL,
+    ALGORITHM=INSTANT;
+
+CREATE TABLE audit_log_fields (
+    audit_log_id BIGINT NOT NULL,
+    field_name VARCHAR(64) NOT NULL,
+    PRIMARY KEY (audit_log_id, field_name),
+    INDEX idx_audit_field (field_name, audit_log_id),
+    FOREIGN KEY (audit_log_id) REFERENCES audit_logs(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,32 @@
+-- =====================================================
+-- V8 : exports asynchrones (CSV / XLSX)
+-- Les travaux survivent aux redémarrages : un travail EN_COURS dont le bail
+-- (heartbeat_at) a expiré est remis EN_ATTENTE ;
+-- attempt empêche l'ancienne tentative d'écrire encore sur le travail ;
+-- node_url : instance dont le disque porte le fichier, vers laquelle les
+-- téléchargements reçus par les autres instances sont relayés
+-- =====================================================
+
+CREATE TABLE export_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    export_type VARCHAR(30) NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempt INT NOT NULL DEFAULT 0,
+    rows_total BIGINT,
+    rows_written BIGINT NOT NULL DEFAULT 0,
+    file_path VARCHAR(500),
+    file_size BIGINT,
+    node_url VARCHAR(200),
+    error_message VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    heartbeat_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_export_status (status, id),
+    INDEX idx_export_user_status (user_id, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,14 @@
+-- =====================================================
+-- V9 : journal d'invalidation des caches entre instances
+-- Chaque instance insère les clés invalidées et relit les lignes récentes des autres ;
+-- les lignes ne servent que quelques secondes et sont purgées périodiquement
+-- =====================================================
+
+CREATE TABLE cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    region VARCHAR(50) NOT NULL,
+    entity_key BIGINT NULL,
+    origin VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    INDEX idx_invalidation_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,64 @@
+-- =====================================================
+-- V5_1 (facultative) : partitionnement RANGE mensuel de transactions sur transaction_date
+-- Activée en ajoutant classpath:db/partitioning à spring.flyway.locations
+-- (avec spring.flyway.out-of-order=true si des versions ultérieures sont déjà appliquées).
+--
+-- Reconstruction complète de la table : à exécuter en fenêtre de maintenance,
+-- ou via pt-online-schema-change / gh-ost sur les très grosses tables.
+--
+-- Contraintes MySQL sur les tables partitionnées :
+--   - pas de clés étrangères : l'intégrité vers users est assurée par UserService
+--   - toute clé unique inclut la colonne de partitionnement : PK (id, transaction_date)
+--   - pas d'index FULLTEXT
+-- Une partition par mois, du premier mois contenant des transactions jusqu'au mois courant
+-- (ou au dernier mois daté s'il est postérieur) : p_future est vide à la fin de la migration
+-- et PartitionMaintenanceService la découpe ensuite sans déplacer de ligne.
+-- =====================================================
+
+-- transactions_ibfk_1..3 : noms générés par MySQL pour les clés de V1 (ou du script bdd)
+ALTER TABLE transactions
+    DROP FOREIGN KEY transactions_ibfk_1,
+    DROP FOREIGN KEY transactions_ibfk_2,
+    DROP FOREIGN KEY transactions_ibfk_3,
+    DROP FOREIGN KEY fk_transactions_claimed_by;
+
+ALTER TABLE transactions DROP INDEX idx_transaction_description;
+
+ALTER TABLE transactions
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, transaction_date);
+
+DELIMITER //
+
+CREATE PROCEDURE fintrack_partition_transactions()
+BEGIN
+    DECLARE first_month DATE;
+    DECLARE last_month DATE;
+    DECLARE bound DATE;
+    DECLARE ddl TEXT;
+    
+    SELECT DATE_FORMAT(COALESCE(MIN(transaction_date), CURRENT_DATE), '%Y-%m-01'),
+           DATE_FORMAT(GREATEST(COALESCE(MAX(transaction_date), CURRENT_DATE), CURRENT_DATE), '%Y-%m-01')
+    INTO first_month, last_month
+    FROM transactions;
+    
+    SET ddl = CONCAT('ALTER TABLE transactions PARTITION BY RANGE COLUMNS (transaction_date) (',
+                     'PARTITION p_hist VALUES LESS THAN (''', first_month, ''')');
+    SET bound = first_month;
+    WHILE bound <= last_month DO
+        SET ddl = CONCAT(ddl, ', PARTITION p', DATE_FORMAT(bound, '%Y%m'),
+                         ' VALUES LESS THAN (''', bound + INTERVAL 1 MONTH, ''')');
+        SET bound = bound + INTERVAL 1 MONTH;
+    END WHILE;
+    SET @fintrack_partition_ddl = CONCAT(ddl, ', PARTITION p_future VALUES LESS THAN (MAXVALUE))');
+    
+    PREPARE partition_statement FROM @fintrack_partition_ddl;
+    EXECUTE partition_statement;
+    DEALLOCATE PREPARE partition_statement;
+END //
+
+DELIMITER ;
+
+CALL fintrack_partition_transactions();
+
+DROP PROCEDURE fintrack_partition_transactions;
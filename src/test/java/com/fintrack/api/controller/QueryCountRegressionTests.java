@@ -0,0 +1,267 @@
+package com.fintrack.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintrack.api.entity.Transaction;
+import com.fintrack.api.entity.User;
+import com.fintrack.api.enums.Category;
+import com.fintrack.api.enums.Role;
+import com.fintrack.api.enums.TransactionStatus;
+import com.fintrack.api.enums.TransactionType;
+import com.fintrack.api.querycount.QueryCountConfiguration;
+import com.fintrack.api.querycount.QueryCounter;
+import com.fintrack.api.querycount.QueryCounter.QueryStats;
+import com.fintrack.api.repository.AuditLogRepository;
+import com.fintrack.api.repository.TransactionRepository;
+import com.fintrack.api.repository.UserRepository;
+
+/**
+ * Garde-fou N+1 : chaque endpoint de lecture ou d'écriture est mesuré sur deux volumes de données.
+ * Le nombre de requêtes SQL doit rester sous un plafond et ne pas croître avec le volume ;
+ * lignes lues et entités hydratées doivent rester au plus proportionnelles au volume.
+ * Chaque transaction a ses propres créateur, valideur et finaliseur : un chargement paresseux
+ * par ligne se traduit donc directement par des requêtes supplémentaires. La création en masse
+ * reçoit autant d'utilisateurs que le jeu contient de transactions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryCountConfiguration.class)
+@WithMockUser(username = QueryCountRegressionTests.PRINCIPAL, roles = "ADMIN")
+class QueryCountRegressionTests {
+    
+    static final String PRINCIPAL = "admin@fintrack.test";
+    
+    private static final int SMALL = 8;
+    // 3 utilisateurs par transaction : le grand jeu reste sous fintrack.batch.max-ids (200)
+    private static final int LARGE = 60;
+    // Marge des lignes / entités constantes (utilisateur courant, transaction isolée)
+    private static final long FIXED_SLACK = 4;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    static Stream<Arguments> endpoints() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        return Stream.of(
+                endpoint("GET /api/transactions", 1, data -> get("/api/transactions")),
+                endpoint("GET /api/transactions/{id}", 4, data -> get("/api/transactions/{id}", data.finalizedId())),
+                endpoint("GET /api/transactions/batch", 1, data -> get("/api/transactions/batch")
+                        .param("ids", data.joinedTransactionIds())),
+                endpoint("GET /api/transactions/my-transactions", 2, data -> get("/api/transactions/my-transactions")),
+                endpoint("GET /api/transactions/changes", 3, data -> get("/api/transactions/changes")
+                        .param("mine", "false")),
+                endpoint("GET /api/transactions/status/{status}", 1, data -> get("/api/transactions/status/{status}",
+                        TransactionStatus.FINALISEE)),
+                endpoint("GET /api/transactions/type/{type}", 1, data -> get("/api/transactions/type/{type}",
+                        TransactionType.DEBIT)),
+                endpoint("GET /api/transactions/category/{category}", 1, data -> get(
+                        "/api/transactions/category/{category}", Category.ACHAT)),
+                endpoint("GET /api/transactions/date-range", 1, data -> get("/api/transactions/date-range")
+                        .param("startDate", from.toString())
+                        .param("endDate", from.plusYears(1).toString())),
+                endpoint("GET /api/users", 1, data -> get("/api/users")),
+                endpoint("GET /api/users/{id}", 1, data -> get("/api/users/{id}", data.principalId())),
+                endpoint("GET /api/users/batch", 1, data -> get("/api/users/batch")
+                        .param("ids", data.joinedUserIds())),
+                endpoint("GET /api/users/role/{role}", 1, data -> get("/api/users/role/{role}", Role.MANAGER)),
+                endpoint("GET /api/users/status/{isActive}", 1, data -> get("/api/users/status/{isActive}", true)));
+    }
+    
+    static Stream<Arguments> writeEndpoints() {
+        return Stream.of(
+                endpoint("POST /api/transactions", 4, data -> post("/api/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"amount": 42.50, "transactionType": "DEBIT", "category": "ACHAT",
+                                 "description": "Saisie N+1", "transactionDate": "2025-01-01"}
+                                """)),
+                endpoint("PUT /api/transactions/{id}", 9, data -> put("/api/transactions/{id}", data.pendingId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"amount": 55.00, "description": "Saisie N+1 corrigée"}
+                                """)),
+                endpoint("DELETE /api/transactions/{id}", 6, data -> delete("/api/transactions/{id}",
+                        data.pendingId())),
+                endpoint("PATCH /api/transactions/{id}/validate", 9, data -> patch("/api/transactions/{id}/validate",
+                        data.pendingId())),
+                endpoint("PATCH /api/transactions/{id}/finalize", 10, data -> patch("/api/transactions/{id}/finalize",
+                        data.validatedId())),
+                endpoint("PATCH /api/transactions/{id}/reject", 9, data -> patch("/api/transactions/{id}/reject",
+                        data.pendingId())),
+                endpoint("PATCH /api/users/{id}/deactivate", 4, data -> patch("/api/users/{id}/deactivate",
+                        data.otherUserId())),
+                endpoint("POST /api/users/bulk", 4, data -> post("/api/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bulkUsers(data.transactionIds().size()))));
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void queryCountDoesNotGrowWithDatasetSize(String name, long maxStatements,
+                                              Function<Dataset, RequestBuilder> request) throws Exception {
+        assertBounded(name, maxStatements, request);
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("writeEndpoints")
+    void writeQueryCountDoesNotGrowWithDatasetSize(String name, long maxStatements,
+                                                   Function<Dataset, RequestBuilder> request) throws Exception {
+        assertBounded(name, maxStatements, request);
+    }
+    
+    private void assertBounded(String name, long maxStatements,
+                               Function<Dataset, RequestBuilder> request) throws Exception {
+        QueryStats small = measure(seed(SMALL), request);
+        QueryStats large = measure(seed(LARGE), request);
+        
+        assertThat(large.statements())
+                .as("%s : requêtes SQL (%d lignes : %s, %d lignes : %s)", name, SMALL, small, LARGE, large)
+                .isLessThanOrEqualTo(maxStatements)
+                .isEqualTo(small.statements());
+        assertThat(large.rows() * SMALL)
+                .as("%s : lignes lues plus que proportionnelles au volume (%s puis %s)", name, small, large)
+                .isLessThanOrEqualTo((small.rows() + FIXED_SLACK) * LARGE);
+        assertThat(large.entities() * SMALL)
+                .as("%s : entités hydratées plus que proportionnelles au volume (%s puis %s)", name, small, large)
+                .isLessThanOrEqualTo((small.entities() + FIXED_SLACK) * LARGE);
+    }
+    
+    private QueryStats measure(Dataset data, Function<Dataset, RequestBuilder> request) throws Exception {
+        return QueryCounter.measure(() -> mockMvc.perform(request.apply(data))
+                .andExpect(status().is2xxSuccessful()));
+    }
+    
+    /**
+     * Remplace le jeu de données : size transactions aux statuts, types et catégories alternés,
+     * une sur cinq créée par l'utilisateur courant.
+     */
+    private Dataset seed(int size) {
+        return transactionTemplate.execute(status -> {
+            // Journal d'audit des cas d'écriture précédents (clé étrangère vers users)
+            auditLogRepository.deleteAll();
+            transactionRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+            
+            User principal = userRepository.save(user(PRINCIPAL, Role.ADMIN));
+            List<Transaction> transactions = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                User creator = i % 5 == 0
+                        ? principal
+                        : userRepository.save(user("comptable" + i + "@fintrack.test", Role.COMPTABLE));
+                User validator = userRepository.save(user("manager" + i + "@fintrack.test", Role.MANAGER));
+                User finalizer = userRepository.save(user("admin" + i + "@fintrack.test", Role.ADMIN));
+                TransactionStatus transactionStatus = TransactionStatus.values()[i % TransactionStatus.values().length];
+                transactions.add(Transaction.builder()
+                        .amount(BigDecimal.valueOf(100 + i))
+                        .transactionType(TransactionType.values()[i % TransactionType.values().length])
+                        .category(Category.values()[i % Category.values().length])
+                        .status(transactionStatus)
+                        .description("Jeu de données N+1 #" + i)
+                        .transactionDate(LocalDate.of(2025, 1, 1).plusDays(i))
+                        .createdBy(creator)
+                        .validatedBy(transactionStatus == TransactionStatus.EN_ATTENTE ? null : validator)
+                        .finalizedBy(transactionStatus == TransactionStatus.FINALISEE ? finalizer : null)
+                        .build());
+            }
+            List<Transaction> saved = transactionRepository.saveAll(transactions);
+            
+            List<Long> userIds = userRepository.findAll().stream().map(User::getId).toList();
+            Long otherUserId = userIds.stream()
+                    .filter(id -> !id.equals(principal.getId()))
+                    .findFirst()
+                    .orElseThrow();
+            return new Dataset(principal.getId(), otherUserId,
+                    firstWithStatus(saved, TransactionStatus.EN_ATTENTE),
+                    firstWithStatus(saved, TransactionStatus.VALIDEE),
+                    firstWithStatus(saved, TransactionStatus.FINALISEE),
+                    saved.stream().map(Transaction::getId).toList(), userIds);
+        });
+    }
+    
+    // Créée par un autre utilisateur que le courant : son créateur est chargé à la demande
+    private static Long firstWithStatus(List<Transaction> transactions, TransactionStatus status) {
+        return transactions.stream()
+                .filter(transaction -> transaction.getStatus() == status)
+                .filter(transaction -> !PRINCIPAL.equals(transaction.getCreatedBy().getEmail()))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+    
+    private static String bulkUsers(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> """
+                        {"email": "import%d@fintrack.test", "password": "password", "firstName": "Import",
+                         "lastName": "Masse", "role": "COMPTABLE"}""".formatted(i))
+                .collect(Collectors.joining(",", "{\"users\": [", "]}"));
+    }
+    
+    private static User user(String email, Role role) {
+        return User.builder()
+                .email(email)
+                .password("{noop}password")
+                .firstName("Test")
+                .lastName(role.name())
+                .role(role)
+                .isActive(true)
+                .build();
+    }
+    
+    private static Arguments endpoint(String name, long maxStatements, Function<Dataset, RequestBuilder> request) {
+        return Arguments.of(name, maxStatements, request);
+    }
+    
+    record Dataset(Long principalId, Long otherUserId, Long pendingId, Long validatedId, Long finalizedId,
+                   List<Long> transactionIds, List<Long> userIds) {
+        
+        String joinedTransactionIds() {
+            return transactionIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+        
+        String joinedUserIds() {
+            return userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.fintrack.api.querycount;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Compte les entités hydratées par Hibernate (chargements directs et paresseux) dans {@link QueryCounter}.
+ */
+public class EntityLoadCounter implements PostLoadEventListener {
+    
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        QueryCounter.entityLoaded();
+    }
+}
@@ -0,0 +1,61 @@
+package com.fintrack.api.querycount;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Compteurs par thread des accès base : requêtes JDBC exécutées, lignes lues et entités hydratées.
+ * Alimenté par {@link QueryCountingDataSource} et {@link EntityLoadCounter} ; MockMvc et les appels
+ * de service s'exécutent sur le thread du test, les tâches planifiées ne faussent donc pas la mesure.
+ */
+public final class QueryCounter {
+    
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[3]);
+    
+    private static final int STATEMENTS = 0;
+    private static final int ROWS = 1;
+    private static final int ENTITIES = 2;
+    
+    private QueryCounter() {
+    }
+    
+    public static void reset() {
+        long[] counts = COUNTS.get();
+        counts[STATEMENTS] = 0;
+        counts[ROWS] = 0;
+        counts[ENTITIES] = 0;
+    }
+    
+    public static QueryStats snapshot() {
+        long[] counts = COUNTS.get();
+        return new QueryStats(counts[STATEMENTS], counts[ROWS], counts[ENTITIES]);
+    }
+    
+    /**
+     * Exécute l'action (requête MockMvc, appel de service) et renvoie les accès base qu'elle a provoqués.
+     */
+    public static QueryStats measure(Callable<?> action) throws Exception {
+        reset();
+        action.call();
+        return snapshot();
+    }
+    
+    static void statementExecuted() {
+        COUNTS.get()[STATEMENTS]++;
+    }
+    
+    static void rowRead() {
+        COUNTS.get()[ROWS]++;
+    }
+    
+    static void entityLoaded() {
+        COUNTS.get()[ENTITIES]++;
+    }
+    
+    public record QueryStats(long statements, long rows, long entities) {
+        
+        @Override
+        public String toString() {
+            return statements + " requête(s), " + rows + " ligne(s), " + entities + " entité(s)";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.fintrack.api.querycount;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Proxy JDBC de test : compte chaque exécution de requête et chaque ligne lue dans {@link QueryCounter}.
+ * Couvre Hibernate, JdbcTemplate et les requêtes natives, contrairement à un StatementInspector
+ * qui ne voit que le SQL préparé par Hibernate.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+    
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password));
+    }
+    
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, new CountingHandler(target)));
+    }
+    
+    private static Object wrapResult(Object result) {
+        if (result instanceof CallableStatement statement) {
+            return wrap(CallableStatement.class, statement);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return wrap(PreparedStatement.class, statement);
+        }
+        if (result instanceof Statement statement) {
+            return wrap(Statement.class, statement);
+        }
+        if (result instanceof ResultSet resultSet) {
+            return wrap(ResultSet.class, resultSet);
+        }
+        return result;
+    }
+    
+    private record CountingHandler(Object target) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("unwrap") || name.equals("isWrapperFor")) {
+                return invokeTarget(method, args);
+            }
+            if (target instanceof Statement && name.startsWith("execute")) {
+                QueryCounter.statementExecuted();
+            }
+            Object result = invokeTarget(method, args);
+            if (target instanceof ResultSet && name.equals("next") && Boolean.TRUE.equals(result)) {
+                QueryCounter.rowRead();
+            }
+            // Seuls les objets créés (requêtes, résultats) sont enveloppés ; getStatement()
+            // renvoie la requête d'origine pour ne pas dupliquer les compteurs
+            if (name.equals("getStatement")) {
+                return result;
+            }
+            return wrapResult(result);
+        }
+        
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}